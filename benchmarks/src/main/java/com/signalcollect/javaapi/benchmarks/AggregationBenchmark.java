@@ -0,0 +1,69 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.signalcollect.javaapi.JavaIdStateAggregator;
+import com.signalcollect.javaapi.examples.pagerank.PageRankVertex;
+
+/**
+ * Extracts and aggregates the ids and states of `vertices` vertices with the
+ * `JavaIdStateAggregator`, the way a worker folds over its vertices.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AggregationBenchmark {
+
+	@Param({ "1000", "100000" })
+	int vertices;
+
+	PageRankVertex[] vertexArray;
+	JavaIdStateAggregator<Integer, Double> aggregator = new JavaIdStateAggregator<Integer, Double>();
+
+	@Setup
+	public void setUp() {
+		vertexArray = new PageRankVertex[vertices];
+		for (int i = 0; i < vertices; i++) {
+			vertexArray[i] = new PageRankVertex(i, 0.15);
+		}
+	}
+
+	@Benchmark
+	public Map<Integer, Double> idStateAggregation() {
+		Map<Integer, Double> result = aggregator.neutralElement();
+		for (PageRankVertex vertex : vertexArray) {
+			result = aggregator.aggregate(result, aggregator.extract(vertex));
+		}
+		return result;
+	}
+
+}
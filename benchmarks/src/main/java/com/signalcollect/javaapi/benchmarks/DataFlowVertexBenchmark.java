@@ -0,0 +1,88 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import scala.Option;
+import scala.Some;
+
+import com.signalcollect.javaapi.DataFlowVertex;
+
+/**
+ * Buffering and collecting of the uncollected signals of a `DataFlowVertex`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataFlowVertexBenchmark {
+
+	@SuppressWarnings("serial")
+	static class SumVertex extends DataFlowVertex<Integer, Double, Double> {
+
+		SumVertex(Integer id) {
+			super(id, 0.0);
+		}
+
+		public Double collect(Double oldState, Iterable<Double> uncollectedSignals) {
+			double sum = oldState;
+			for (Double signal : uncollectedSignals) {
+				sum += signal;
+			}
+			return sum;
+		}
+
+		public Double resetState() {
+			return 0.0;
+		}
+
+	}
+
+	@Param({ "1", "10", "100" })
+	int signalsPerCollect;
+
+	SumVertex vertex;
+	Option<Object> sourceId = new Some<Object>(1);
+	Double signal = 0.1;
+
+	@Setup
+	public void setUp() {
+		vertex = new SumVertex(0);
+	}
+
+	@Benchmark
+	public Object bufferAndCollect() {
+		for (int i = 0; i < signalsPerCollect; i++) {
+			vertex.deliverSignal(signal, sourceId);
+		}
+		vertex.executeCollectOperation(null);
+		return vertex.state();
+	}
+
+}
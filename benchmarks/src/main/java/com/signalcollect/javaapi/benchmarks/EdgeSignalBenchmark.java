@@ -0,0 +1,70 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.signalcollect.javaapi.examples.pagerank.PageRankEdge;
+import com.signalcollect.javaapi.examples.pagerank.PageRankVertex;
+import com.signalcollect.javaapi.examples.sssp.SSSPEdge;
+import com.signalcollect.javaapi.examples.sssp.SSSPNode;
+
+/**
+ * Signal computation of the `PageRankEdge` and `SSSPEdge` examples.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EdgeSignalBenchmark {
+
+	PageRankVertex pageRankVertex;
+	PageRankEdge pageRankEdge;
+	SSSPNode ssspNode;
+	SSSPEdge ssspEdge;
+
+	@Setup
+	public void setUp() {
+		pageRankVertex = new PageRankVertex(0, 0.15);
+		pageRankEdge = new PageRankEdge(1);
+		pageRankVertex.addEdge(pageRankEdge, null);
+		pageRankVertex.addEdge(new PageRankEdge(2), null);
+		ssspNode = new SSSPNode(0, 3);
+		ssspEdge = new SSSPEdge(1);
+	}
+
+	@Benchmark
+	public Object pageRankEdgeSignal() {
+		return pageRankEdge.signal(pageRankVertex);
+	}
+
+	@Benchmark
+	public Object ssspEdgeSignal() {
+		return ssspEdge.signal(ssspNode);
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import scala.Function1;
+import scala.runtime.BoxedUnit;
+
+import com.signalcollect.Vertex;
+import com.signalcollect.javaapi.FunUtil;
+import com.signalcollect.javaapi.VertexCommand;
+import com.signalcollect.javaapi.VertexFunction;
+import com.signalcollect.javaapi.examples.pagerank.PageRankVertex;
+
+/**
+ * Dispatch of Java vertex commands and functions through the Scala closures
+ * created by `FunUtil.convert`, with and without the conversion itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FunUtilBenchmark {
+
+	PageRankVertex vertex;
+	VertexCommand command;
+	VertexFunction<Object> function;
+	Function1<Vertex<?, ?>, BoxedUnit> convertedCommand;
+	Function1<Vertex<?, ?>, Object> convertedFunction;
+
+	@Setup
+	public void setUp() {
+		vertex = new PageRankVertex(0, 0.15);
+		command = new VertexCommand() {
+			public void f(Vertex<?, ?> v) {
+				v.setState(0.15);
+			}
+		};
+		function = new VertexFunction<Object>() {
+			public Object f(Vertex<?, ?> v) {
+				return v.state();
+			}
+		};
+		convertedCommand = FunUtil.convert(command);
+		convertedFunction = FunUtil.convert(function);
+	}
+
+	@Benchmark
+	public Object convertedCommand() {
+		return convertedCommand.apply(vertex);
+	}
+
+	@Benchmark
+	public Object convertedFunction() {
+		return convertedFunction.apply(vertex);
+	}
+
+	@Benchmark
+	public Object convertAndApplyCommand() {
+		return FunUtil.convert(command).apply(vertex);
+	}
+
+	@Benchmark
+	public Object convertAndApplyFunction() {
+		return FunUtil.convert(function).apply(vertex);
+	}
+
+}
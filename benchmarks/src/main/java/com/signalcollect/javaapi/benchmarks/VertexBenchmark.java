@@ -0,0 +1,99 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import scala.Option;
+import scala.Some;
+
+import com.signalcollect.javaapi.examples.pagerank.PageRankVertex;
+
+/**
+ * Signal delivery, collect and scoring of a `DataGraphVertex`, measured on the
+ * `PageRankVertex` example with `fanIn` signaling neighbors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VertexBenchmark {
+
+	@Param({ "1", "10", "100" })
+	int fanIn;
+
+	PageRankVertex vertex;
+	Option<Object>[] sourceIds;
+	Double signal = 0.1;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setUp() {
+		vertex = new PageRankVertex(0, 0.15);
+		sourceIds = new Option[fanIn];
+		for (int i = 0; i < fanIn; i++) {
+			sourceIds[i] = new Some<Object>(i + 1);
+		}
+		deliverSignals();
+	}
+
+	/**
+	 * Delivers one signal from every neighbor.
+	 */
+	@Benchmark
+	public void deliverSignal() {
+		deliverSignals();
+	}
+
+	/**
+	 * Delivers one signal from every neighbor and collects them.
+	 */
+	@Benchmark
+	public Object deliverAndCollect() {
+		deliverSignals();
+		vertex.executeCollectOperation(null);
+		return vertex.state();
+	}
+
+	@Benchmark
+	public double scoreSignal() {
+		return vertex.scoreSignal();
+	}
+
+	@Benchmark
+	public double scoreCollect() {
+		return vertex.scoreCollect();
+	}
+
+	private void deliverSignals() {
+		for (Option<Object> sourceId : sourceIds) {
+			vertex.deliverSignal(signal, sourceId);
+		}
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.benchmarks.scaling;
+
+/**
+ * Measurements of one workload with one graph size and number of workers.
+ */
+public class BenchmarkResult {
+
+	static final String CSV_HEADER = "algorithm,vertices,workers,edges,loadTimeInMilliseconds,executionTimeInMilliseconds,signalOperations,collectOperations,peakHeapInBytes,gcTimeInMilliseconds";
+
+	final String algorithm;
+	final int vertices;
+	final int workers;
+	final long edges;
+	final long loadTimeInMilliseconds;
+	final long executionTimeInMilliseconds;
+	final long signalOperations;
+	final long collectOperations;
+	final long peakHeapInBytes;
+	final long gcTimeInMilliseconds;
+
+	BenchmarkResult(String algorithm, int vertices, int workers, long edges,
+			long loadTimeInMilliseconds, long executionTimeInMilliseconds,
+			long signalOperations, long collectOperations,
+			long peakHeapInBytes, long gcTimeInMilliseconds) {
+		this.algorithm = algorithm;
+		this.vertices = vertices;
+		this.workers = workers;
+		this.edges = edges;
+		this.loadTimeInMilliseconds = loadTimeInMilliseconds;
+		this.executionTimeInMilliseconds = executionTimeInMilliseconds;
+		this.signalOperations = signalOperations;
+		this.collectOperations = collectOperations;
+		this.peakHeapInBytes = peakHeapInBytes;
+		this.gcTimeInMilliseconds = gcTimeInMilliseconds;
+	}
+
+	/**
+	 * @return the key that identifies the same measurement in a baseline.
+	 */
+	String key() {
+		return algorithm + "," + vertices + "," + workers;
+	}
+
+	String toCsv() {
+		return key() + "," + edges + "," + loadTimeInMilliseconds + ","
+				+ executionTimeInMilliseconds + "," + signalOperations + ","
+				+ collectOperations + "," + peakHeapInBytes + ","
+				+ gcTimeInMilliseconds;
+	}
+
+	String toJson() {
+		return "{\"algorithm\": \"" + algorithm + "\", \"vertices\": "
+				+ vertices + ", \"workers\": " + workers + ", \"edges\": "
+				+ edges + ", \"loadTimeInMilliseconds\": "
+				+ loadTimeInMilliseconds
+				+ ", \"executionTimeInMilliseconds\": "
+				+ executionTimeInMilliseconds + ", \"signalOperations\": "
+				+ signalOperations + ", \"collectOperations\": "
+				+ collectOperations + ", \"peakHeapInBytes\": "
+				+ peakHeapInBytes + ", \"gcTimeInMilliseconds\": "
+				+ gcTimeInMilliseconds + "}";
+	}
+
+	static BenchmarkResult fromCsv(String line) {
+		String[] fields = line.trim().split(",");
+		if (fields.length != 10) {
+			throw new IllegalArgumentException("Not a benchmark result: "
+					+ line);
+		}
+		return new BenchmarkResult(fields[0], Integer.parseInt(fields[1]),
+				Integer.parseInt(fields[2]), Long.parseLong(fields[3]),
+				Long.parseLong(fields[4]), Long.parseLong(fields[5]),
+				Long.parseLong(fields[6]), Long.parseLong(fields[7]),
+				Long.parseLong(fields[8]), Long.parseLong(fields[9]));
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.benchmarks.scaling;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import com.signalcollect.ExecutionInformation;
+import com.signalcollect.javaapi.Graph;
+import com.signalcollect.javaapi.GraphBuilder;
+
+/**
+ * Runs a single measurement in a fresh JVM and prints the result as a CSV line
+ * with the prefix `RESULT_PREFIX`. Started by `ScalingBenchmark` with the
+ * arguments algorithm, size and seed, the number of workers is the number of
+ * available processors of the JVM. The result holds the actual number of
+ * vertices of the generated graph, which can differ from the size.
+ */
+public class BenchmarkRun {
+
+	static final String RESULT_PREFIX = "RESULT ";
+
+	public static void main(String[] args) {
+		Workload workload = Workload.valueOf(args[0].toUpperCase());
+		int size = Integer.parseInt(args[1]);
+		long seed = Long.parseLong(args[2]);
+		int workers = Runtime.getRuntime().availableProcessors();
+
+		HeapSampler heap = new HeapSampler();
+		heap.start();
+		Graph graph = new GraphBuilder().build();
+		BenchmarkResult result;
+		try {
+			long loadStart = System.currentTimeMillis();
+			long edges = workload.load(graph, size, seed);
+			graph.awaitIdle();
+			long loadTime = System.currentTimeMillis() - loadStart;
+
+			long executionStart = System.currentTimeMillis();
+			ExecutionInformation info = workload.execute(graph);
+			long executionTime = System.currentTimeMillis() - executionStart;
+
+			result = new BenchmarkResult(workload.name().toLowerCase(),
+					workload.numberOfVertices(size), workers, edges, loadTime,
+					executionTime, info.aggregatedWorkerStatistics()
+							.signalOperationsExecuted(), info
+							.aggregatedWorkerStatistics()
+							.collectOperationsExecuted(), heap.finish(),
+					gcTime());
+		} catch (Throwable t) {
+			// the workers of the graph would keep the JVM alive
+			t.printStackTrace();
+			System.exit(1);
+			return;
+		} finally {
+			graph.shutdown();
+		}
+		System.out.println(RESULT_PREFIX + result.toCsv());
+	}
+
+	/**
+	 * Samples the used heap every 10 milliseconds. The peaks of the single
+	 * memory pools are reached at different times, their sum would overstate
+	 * the peak of the heap.
+	 */
+	private static class HeapSampler extends Thread {
+
+		private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		private volatile boolean running = true;
+		private volatile long peak = 0;
+
+		HeapSampler() {
+			super("HeapSampler");
+			setDaemon(true);
+		}
+
+		public void run() {
+			while (running) {
+				sample();
+				try {
+					Thread.sleep(10);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		}
+
+		private void sample() {
+			peak = Math.max(peak, memory.getHeapMemoryUsage().getUsed());
+		}
+
+		/**
+		 * @return the largest sampled heap usage in bytes.
+		 */
+		long finish() {
+			running = false;
+			interrupt();
+			try {
+				join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			sample();
+			return peak;
+		}
+
+	}
+
+	private static long gcTime() {
+		long time = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory
+				.getGarbageCollectorMXBeans()) {
+			time += Math.max(0, gc.getCollectionTime());
+		}
+		return time;
+	}
+
+}
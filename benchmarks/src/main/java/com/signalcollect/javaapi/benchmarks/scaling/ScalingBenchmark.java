@@ -0,0 +1,271 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.benchmarks.scaling;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the example algorithms at increasing graph sizes and numbers of
+ * workers, each measurement in its own JVM that is limited to as many
+ * processors as there are workers with -XX:ActiveProcessorCount, which
+ * requires JDK 8u191 or later. The results are written as CSV or JSON.
+ * 
+ * When a baseline CSV file from an earlier run is given, every measurement
+ * whose load or execution time exceeds the baseline by more than the
+ * tolerance is reported as a regression, as is every baseline measurement
+ * without a result. The exit code is 1 if there are regressions or if a run
+ * failed.
+ * 
+ * Arguments, all optional:
+ * 
+ * <pre>
+ * --algorithms=pagerank,sssp,kcore,gameoflife,clustering
+ * --sizes=10000,100000,1000000
+ * --workers=1,2,4
+ * --seed=42
+ * --format=csv|json
+ * --output=results.csv      (standard output if missing)
+ * --baseline=baseline.csv
+ * --tolerance=0.1
+ * --jvmArgs=-Xmx4g          (space separated, passed to every child JVM)
+ * </pre>
+ */
+public class ScalingBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parseOptions(args);
+		String[] algorithms = option(options, "algorithms",
+				"pagerank,sssp,kcore,gameoflife,clustering").split(",");
+		String[] sizes = option(options, "sizes", "10000,100000,1000000")
+				.split(",");
+		String[] workers = option(options, "workers", "1,2,4").split(",");
+		long seed = Long.parseLong(option(options, "seed", "42"));
+		String jvmArgs = option(options, "jvmArgs", "");
+
+		List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+		int failures = 0;
+		for (String algorithm : algorithms) {
+			for (String size : sizes) {
+				for (String workerCount : workers) {
+					BenchmarkResult result = runInChildJvm(algorithm.trim(),
+							size.trim(), workerCount.trim(), seed, jvmArgs);
+					if (result != null) {
+						results.add(result);
+					} else {
+						failures++;
+					}
+				}
+			}
+		}
+
+		String output = format(results, option(options, "format", "csv"));
+		if (options.containsKey("output")) {
+			PrintWriter writer = new PrintWriter(new FileWriter(
+					options.get("output")));
+			try {
+				writer.print(output);
+			} finally {
+				writer.close();
+			}
+		} else {
+			System.out.print(output);
+		}
+
+		int regressions = 0;
+		if (options.containsKey("baseline")) {
+			regressions = compare(results,
+					readBaseline(new File(options.get("baseline"))),
+					Double.parseDouble(option(options, "tolerance", "0.1")));
+		}
+		if (failures > 0) {
+			System.err.println("FAILED " + failures + " runs.");
+		}
+		if (failures > 0 || regressions > 0) {
+			System.exit(1);
+		}
+	}
+
+	private static BenchmarkResult runInChildJvm(String algorithm,
+			String size, String workers, long seed, String jvmArgs)
+			throws IOException, InterruptedException {
+		List<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin"
+				+ File.separator + "java");
+		command.add("-XX:ActiveProcessorCount=" + workers);
+		for (String jvmArg : jvmArgs.trim().split("\\s+")) {
+			if (!jvmArg.isEmpty()) {
+				command.add(jvmArg);
+			}
+		}
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(BenchmarkRun.class.getName());
+		command.add(algorithm);
+		command.add(size);
+		command.add(String.valueOf(seed));
+
+		System.err.println("Running " + algorithm + " with " + size
+				+ " vertices on " + workers + " workers.");
+		Process process = new ProcessBuilder(command).redirectErrorStream(
+				true).start();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(
+				process.getInputStream()));
+		BenchmarkResult result = null;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.startsWith(BenchmarkRun.RESULT_PREFIX)) {
+				result = BenchmarkResult.fromCsv(line
+						.substring(BenchmarkRun.RESULT_PREFIX.length()));
+			} else {
+				System.err.println(line);
+			}
+		}
+		int exitCode = process.waitFor();
+		if (exitCode != 0 || result == null) {
+			System.err.println("Run of " + algorithm + " with " + size
+					+ " vertices on " + workers
+					+ " workers failed with exit code " + exitCode + ".");
+			return null;
+		}
+		return result;
+	}
+
+	private static String format(List<BenchmarkResult> results, String format) {
+		StringBuilder sb = new StringBuilder();
+		if (format.equals("json")) {
+			sb.append("[\n");
+			for (int i = 0; i < results.size(); i++) {
+				sb.append("  ").append(results.get(i).toJson());
+				sb.append(i + 1 < results.size() ? ",\n" : "\n");
+			}
+			sb.append("]\n");
+		} else if (format.equals("csv")) {
+			sb.append(BenchmarkResult.CSV_HEADER).append("\n");
+			for (BenchmarkResult result : results) {
+				sb.append(result.toCsv()).append("\n");
+			}
+		} else {
+			throw new IllegalArgumentException("Unknown output format "
+					+ format + ", use csv or json.");
+		}
+		return sb.toString();
+	}
+
+	private static Map<String, BenchmarkResult> readBaseline(File file)
+			throws IOException {
+		Map<String, BenchmarkResult> baseline = new HashMap<String, BenchmarkResult>();
+		BufferedReader reader = new BufferedReader(new FileReader(file));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.trim().isEmpty()
+						&& !line.startsWith(BenchmarkResult.CSV_HEADER)) {
+					BenchmarkResult result = BenchmarkResult.fromCsv(line);
+					baseline.put(result.key(), result);
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		return baseline;
+	}
+
+	/**
+	 * Reports the measurements that are slower than the baseline by more than
+	 * `tolerance` and the baseline measurements without a result.
+	 * 
+	 * @return the number of regressions.
+	 */
+	private static int compare(List<BenchmarkResult> results,
+			Map<String, BenchmarkResult> baseline, double tolerance) {
+		int regressions = 0;
+		Map<String, BenchmarkResult> missing = new HashMap<String, BenchmarkResult>(
+				baseline);
+		for (BenchmarkResult result : results) {
+			missing.remove(result.key());
+			BenchmarkResult before = baseline.get(result.key());
+			if (before == null) {
+				System.err.println("No baseline for " + result.key() + ".");
+				continue;
+			}
+			if (isRegression(before.loadTimeInMilliseconds,
+					result.loadTimeInMilliseconds, tolerance)) {
+				System.err.println("REGRESSION " + result.key()
+						+ " load time: " + before.loadTimeInMilliseconds
+						+ " ms -> " + result.loadTimeInMilliseconds + " ms");
+				regressions++;
+			}
+			if (isRegression(before.executionTimeInMilliseconds,
+					result.executionTimeInMilliseconds, tolerance)) {
+				System.err.println("REGRESSION " + result.key()
+						+ " execution time: "
+						+ before.executionTimeInMilliseconds + " ms -> "
+						+ result.executionTimeInMilliseconds + " ms");
+				regressions++;
+			}
+		}
+		for (String key : missing.keySet()) {
+			System.err.println("REGRESSION " + key + " has no result.");
+			regressions++;
+		}
+		System.err.println(regressions + " regressions with a tolerance of "
+				+ tolerance + ".");
+		return regressions;
+	}
+
+	private static boolean isRegression(long before, long after,
+			double tolerance) {
+		return after > before * (1 + tolerance);
+	}
+
+	private static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new HashMap<String, String>();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Unknown argument " + arg
+						+ ", expected --name=value.");
+			}
+			int separator = arg.indexOf('=');
+			options.put(arg.substring(2, separator),
+					arg.substring(separator + 1));
+		}
+		return options;
+	}
+
+	private static String option(Map<String, String> options, String name,
+			String defaultValue) {
+		if (options.containsKey(name)) {
+			return options.get(name);
+		} else {
+			return defaultValue;
+		}
+	}
+
+}
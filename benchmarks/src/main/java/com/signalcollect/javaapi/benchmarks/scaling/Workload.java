@@ -0,0 +1,204 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.benchmarks.scaling;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import com.signalcollect.Edge;
+import com.signalcollect.ExecutionInformation;
+import com.signalcollect.StateForwarderEdge;
+import com.signalcollect.Vertex;
+import com.signalcollect.configuration.ExecutionMode;
+import com.signalcollect.javaapi.ExecutionConfiguration;
+import com.signalcollect.javaapi.Graph;
+import com.signalcollect.javaapi.examples.clusteringcoefficient.ClusteringCoefficientVertex;
+import com.signalcollect.javaapi.examples.gameoflife.GameOfLifeCell;
+import com.signalcollect.javaapi.examples.kcore.KCoreVertex;
+import com.signalcollect.javaapi.examples.pagerank.PageRankEdge;
+import com.signalcollect.javaapi.examples.pagerank.PageRankVertex;
+import com.signalcollect.javaapi.examples.sssp.SSSPEdge;
+import com.signalcollect.javaapi.examples.sssp.SSSPNode;
+import com.signalcollect.javaapi.generators.EdgeFactory;
+import com.signalcollect.javaapi.generators.ErdosRenyiGenerator;
+import com.signalcollect.javaapi.generators.GraphGenerator;
+import com.signalcollect.javaapi.generators.GridGenerator;
+import com.signalcollect.javaapi.generators.RMatGenerator;
+import com.signalcollect.javaapi.generators.VertexFactory;
+
+/**
+ * The shipped example algorithms on generated graphs with about `size`
+ * vertices. Directed algorithms run on R-MAT graphs with 8 edges per vertex,
+ * undirected ones on random graphs with an average degree of 8 and the game of
+ * life on a square grid. The graphs are generated in a fixed number of
+ * partitions, so that generating them does not depend on the number of
+ * processors of the child JVM.
+ */
+public enum Workload {
+
+	PAGERANK {
+		int numberOfVertices(int size) {
+			return 1 << scale(size);
+		}
+
+		long load(Graph graph, int size, long seed) {
+			return new RMatGenerator(scale(size), 8, seed)
+					.withPartitions(PARTITIONS).loadInto(graph,
+					new VertexFactory() {
+						public Vertex<?, ?> createVertex(int id) {
+							return new PageRankVertex(id, 0.15);
+						}
+					}, new EdgeFactory() {
+						public Edge<?> createEdge(int sourceId, int targetId) {
+							return new PageRankEdge(targetId);
+						}
+					});
+		}
+
+		ExecutionInformation execute(Graph graph) {
+			return graph.execute();
+		}
+	},
+
+	SSSP {
+		int numberOfVertices(int size) {
+			return 1 << scale(size);
+		}
+
+		long load(Graph graph, int size, long seed) {
+			return new RMatGenerator(scale(size), 8, seed)
+					.withPartitions(PARTITIONS).loadInto(graph,
+					new VertexFactory() {
+						public Vertex<?, ?> createVertex(int id) {
+							if (id == 0) {
+								return new SSSPNode(id, 0);
+							} else {
+								return new SSSPNode(id);
+							}
+						}
+					}, new EdgeFactory() {
+						public Edge<?> createEdge(int sourceId, int targetId) {
+							return new SSSPEdge(targetId);
+						}
+					});
+		}
+
+		ExecutionInformation execute(Graph graph) {
+			return graph.execute();
+		}
+	},
+
+	KCORE {
+		long load(Graph graph, int size, long seed) {
+			return undirected(size, seed).loadInto(graph, new VertexFactory() {
+				public Vertex<?, ?> createVertex(int id) {
+					return new KCoreVertex(id, -1);
+				}
+			}, STATE_FORWARDER);
+		}
+
+		ExecutionInformation execute(Graph graph) {
+			return graph.execute(ExecutionConfiguration
+					.withExecutionMode(ExecutionMode.Synchronous()));
+		}
+	},
+
+	GAMEOFLIFE {
+		int numberOfVertices(int size) {
+			return side(size) * side(size);
+		}
+
+		long load(Graph graph, int size, long seed) {
+			int side = side(size);
+			final long cellSeed = seed;
+			return new GridGenerator(side, side).withPartitions(PARTITIONS)
+					.loadInto(graph,
+					new VertexFactory() {
+						public Vertex<?, ?> createVertex(int id) {
+							boolean alive = new Random(cellSeed + id)
+									.nextBoolean();
+							return new GameOfLifeCell(id, alive);
+						}
+					}, STATE_FORWARDER);
+		}
+
+		ExecutionInformation execute(Graph graph) {
+			return graph.execute(ExecutionConfiguration
+					.withExecutionMode(ExecutionMode.Synchronous())
+					.withStepsLimit(20));
+		}
+	},
+
+	CLUSTERING {
+		long load(Graph graph, int size, long seed) {
+			return undirected(size, seed).loadInto(graph, new VertexFactory() {
+				public Vertex<?, ?> createVertex(int id) {
+					return new ClusteringCoefficientVertex(id,
+							new ArrayList<Integer>());
+				}
+			}, STATE_FORWARDER);
+		}
+
+		ExecutionInformation execute(Graph graph) {
+			return graph.execute(ExecutionConfiguration
+					.withExecutionMode(ExecutionMode.Synchronous())
+					.withStepsLimit(2));
+		}
+	};
+
+	/**
+	 * @return the number of vertices of the graph that is generated for
+	 *         `size`, e.g. the next power of two for R-MAT graphs.
+	 */
+	int numberOfVertices(int size) {
+		return size;
+	}
+
+	/**
+	 * Loads the graph of this workload into `graph`.
+	 * 
+	 * @return the number of edges.
+	 */
+	abstract long load(Graph graph, int size, long seed);
+
+	abstract ExecutionInformation execute(Graph graph);
+
+	static final int PARTITIONS = 4;
+
+	private static final EdgeFactory STATE_FORWARDER = new EdgeFactory() {
+		public Edge<?> createEdge(int sourceId, int targetId) {
+			return new StateForwarderEdge<Object>(targetId);
+		}
+	};
+
+	private static int side(int size) {
+		return (int) Math.ceil(Math.sqrt(size));
+	}
+
+	private static int scale(int size) {
+		return Math.max(1, 32 - Integer.numberOfLeadingZeros(size - 1));
+	}
+
+	private static GraphGenerator undirected(int size, long seed) {
+		return new ErdosRenyiGenerator(size, Math.min(1.0, 8.0 / size), false,
+				seed).withPartitions(PARTITIONS);
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.jfr;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.EventType;
+
+import com.signalcollect.Vertex;
+import com.signalcollect.javaapi.ExecutionEvents;
+
+/**
+ * Emits the execution of a graph as JDK Flight Recorder events in the category
+ * "Signal/Collect": executions, the busy time of every worker per step, idle
+ * periods of workers, signal operations that send many signals and collect
+ * operations that take long. Events that are not enabled in the current
+ * recording cost a volatile read.
+ * 
+ * Requires a JVM with JFR (JDK 11 or later) and is built by the
+ * "signal-collect-javaapi-jfr" sub-project. The graph only loads this class
+ * when the events are enabled with `GraphBuilder.withFlightRecorderEvents`.
+ */
+public class FlightRecorderEvents implements ExecutionEvents {
+
+	private static final long IDLE_GAP_IN_NANOSECONDS = 1000000;
+
+	private static final EventType STEP = EventType
+			.getEventType(StepEvent.class);
+	private static final EventType IDLE = EventType
+			.getEventType(WorkerIdleEvent.class);
+	private static final EventType LARGE_SIGNAL_BATCH = EventType
+			.getEventType(LargeSignalBatchEvent.class);
+	private static final EventType LONG_COLLECT = EventType
+			.getEventType(LongCollectEvent.class);
+
+	private final long longCollectThresholdInNanoseconds;
+	private final int largeSignalBatchSize;
+
+	private final List<WorkerState> workers = new ArrayList<WorkerState>();
+
+	private final ThreadLocal<WorkerState> worker = new ThreadLocal<WorkerState>() {
+		@Override
+		protected WorkerState initialValue() {
+			WorkerState state = new WorkerState(Thread.currentThread()
+					.getName());
+			synchronized (workers) {
+				workers.add(state);
+			}
+			return state;
+		}
+	};
+
+	/**
+	 * @param longCollectThresholdInNanoseconds
+	 *            collect operations that take longer are recorded.
+	 * @param largeSignalBatchSize
+	 *            signal operations that send at least this many signals are
+	 *            recorded.
+	 */
+	public FlightRecorderEvents(long longCollectThresholdInNanoseconds,
+			int largeSignalBatchSize) {
+		this.longCollectThresholdInNanoseconds = longCollectThresholdInNanoseconds;
+		this.largeSignalBatchSize = largeSignalBatchSize;
+	}
+
+	public Object executionStarted(String executionMode) {
+		ExecutionEvent event = new ExecutionEvent();
+		event.executionMode = executionMode;
+		event.begin();
+		return event;
+	}
+
+	public void executionFinished(Object execution) {
+		ExecutionEvent event = (ExecutionEvent) execution;
+		event.commit();
+		synchronized (workers) {
+			for (WorkerState state : workers) {
+				state.finishStep();
+			}
+		}
+	}
+
+	public void operationFinished(Object vertex, boolean collect, long start,
+			long end, int signalsSent) {
+		WorkerState state = worker.get();
+		state.operation(start, end, collect);
+		if (collect) {
+			if (end - start > longCollectThresholdInNanoseconds
+					&& LONG_COLLECT.isEnabled()) {
+				LongCollectEvent event = new LongCollectEvent();
+				event.vertexClass = vertex.getClass().getName();
+				event.vertexId = String.valueOf(((Vertex<?, ?>) vertex).id());
+				event.collectTime = end - start;
+				event.commit();
+			}
+		} else if (signalsSent >= largeSignalBatchSize
+				&& LARGE_SIGNAL_BATCH.isEnabled()) {
+			LargeSignalBatchEvent event = new LargeSignalBatchEvent();
+			event.vertexClass = vertex.getClass().getName();
+			event.signals = signalsSent;
+			event.signalTime = end - start;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Detects step boundaries and idle periods of one worker, a step ends when
+	 * the worker executes a signal operation after a collect operation.
+	 */
+	private static class WorkerState {
+
+		private final String name;
+		private long lastOperationEnd = 0;
+		private long stepStart = 0;
+		private boolean inCollectPhase = false;
+
+		WorkerState(String name) {
+			this.name = name;
+		}
+
+		void operation(long start, long end, boolean collect) {
+			if (lastOperationEnd != 0) {
+				long gap = start - lastOperationEnd;
+				if (gap > IDLE_GAP_IN_NANOSECONDS && IDLE.isEnabled()) {
+					WorkerIdleEvent event = new WorkerIdleEvent();
+					event.worker = name;
+					event.idleTime = gap;
+					event.commit();
+				}
+			}
+			if (stepStart == 0) {
+				stepStart = start;
+			} else if (!collect && inCollectPhase) {
+				emitStep();
+				stepStart = start;
+			}
+			inCollectPhase = collect;
+			lastOperationEnd = end;
+		}
+
+		void finishStep() {
+			if (stepStart != 0) {
+				emitStep();
+			}
+			stepStart = 0;
+			lastOperationEnd = 0;
+			inCollectPhase = false;
+		}
+
+		private void emitStep() {
+			if (STEP.isEnabled()) {
+				StepEvent event = new StepEvent();
+				event.worker = name;
+				event.busyTime = lastOperationEnd - stepStart;
+				event.commit();
+			}
+		}
+
+	}
+
+}
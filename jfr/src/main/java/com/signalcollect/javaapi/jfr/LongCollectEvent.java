@@ -0,0 +1,45 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.signalcollect.LongCollect")
+@Label("Long Collect")
+@Category("Signal/Collect")
+@Description("A collect operation that took longer than the configured threshold.")
+class LongCollectEvent extends Event {
+
+	@Label("Vertex Class")
+	String vertexClass;
+
+	@Label("Vertex Id")
+	String vertexId;
+
+	@Label("Collect Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long collectTime;
+
+}
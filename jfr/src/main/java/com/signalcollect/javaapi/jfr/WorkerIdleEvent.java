@@ -0,0 +1,42 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.signalcollect.WorkerIdle")
+@Label("Worker Idle")
+@Category("Signal/Collect")
+@Description("A worker did not execute any vertex operation for longer than a millisecond, committed when it became busy again.")
+class WorkerIdleEvent extends Event {
+
+	@Label("Worker")
+	String worker;
+
+	@Label("Idle Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long idleTime;
+
+}
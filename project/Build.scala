@@ -5,4 +5,28 @@ object JavaApiBuild extends Build {
    lazy val scCore = ProjectRef(file("../signal-collect"), id = "signal-collect")
    val scGraphs = Project(id = "signal-collect-javaapi",
                          base = file(".")) dependsOn(scCore)
-}
\ No newline at end of file
+
+   /** JMH micro-benchmarks, they also use the examples from the test sources. */
+   lazy val benchmarks = Project(id = "signal-collect-javaapi-benchmarks",
+                         base = file("benchmarks"),
+                         settings = Defaults.defaultSettings ++ Seq(
+                           scalaVersion := "2.10.0-RC2",
+                           libraryDependencies ++= Seq(
+                             "org.openjdk.jmh" % "jmh-core" % "1.37",
+                             "org.openjdk.jmh" % "jmh-generator-annprocess" % "1.37"),
+                           mainClass in (Compile, run) := Some("org.openjdk.jmh.Main"),
+                           fork in run := true)
+                         ) dependsOn(scGraphs % "compile->compile;compile->test")
+
+   /**
+    * JDK Flight Recorder events, javac is run from the JDK 11 or later in JFR_JAVA_HOME
+    * because sbt and the Scala compiler of the other projects do not run on it.
+    */
+   lazy val jfr = Project(id = "signal-collect-javaapi-jfr",
+                         base = file("jfr"),
+                         settings = Defaults.defaultSettings ++ Seq(
+                           scalaVersion := "2.10.0-RC2",
+                           javaHome := sys.env.get("JFR_JAVA_HOME") map (file(_)),
+                           javacOptions ++= Seq("-source", "11", "-target", "11"))
+                         ) dependsOn(scGraphs)
+}
@@ -22,7 +22,7 @@ package com.signalcollect.javaapi;
 import scala.Option;
 import com.signalcollect.GraphEditor;
 import com.signalcollect.AbstractVertex;
-import java.util.LinkedList;
+import java.util.ArrayList;
 
 /**
  * Vertex implementation that collects all the signals that have arrived since
@@ -31,7 +31,8 @@ import java.util.LinkedList;
  */
 @SuppressWarnings("serial")
 public abstract class DataFlowVertex<Id, State, Signal> extends
-		AbstractVertex<Object, State> {
+		AbstractVertex<Object, State> implements PrioritizedVertex,
+		ContextAwareVertex, InstrumentedVertex {
 
 	Id id;
 	State state;
@@ -51,6 +52,10 @@ public abstract class DataFlowVertex<Id, State, Signal> extends
 		return id;
 	}
 
+	public Id id() {
+		return id;
+	}
+
 	public State state() {
 		return state;
 	}
@@ -63,20 +68,116 @@ public abstract class DataFlowVertex<Id, State, Signal> extends
 	public abstract State resetState();
 
 	/**
-	 * Delegates to superclass and resets the state to the initial state after
-	 * signaling.
+	 * Sends the signals with `sendSignals` and resets the state to the
+	 * initial state after signaling. The signal operation is deferred if the
+	 * priority of this vertex is not below the current priority limit.
 	 */
-	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@SuppressWarnings({ "rawtypes" })
 	@Override
 	public void executeSignalOperation(GraphEditor graphEditor) {
+		if (priority() < priorityLimit) {
+			if (instrumentation == null) {
+				sendSignals(graphEditor);
+			} else {
+				long start = instrumentation.operationStarted();
+				sendSignals(graphEditor);
+				instrumentation.signalOperationFinished(this, start);
+			}
+			setState(resetState());
+		}
+	}
+
+	/**
+	 * Sends the signals of all outgoing edges. Override to send signals to
+	 * only some of the targets with `graphEditor.sendSignal`, the overriding
+	 * vertex then also has to override `scoreSignal`, because the last
+	 * signaled state is only kept by this implementation.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	protected void sendSignals(GraphEditor graphEditor) {
 		super.executeSignalOperation(graphEditor);
-		setState(resetState());
 	}
 
 	/**
-	 * List of signals that have not been collected yet.
+	 * Exclusive upper bound on the priority of vertices that are allowed to
+	 * signal. Only lowered during priority ordered executions.
+	 */
+	double priorityLimit = Double.POSITIVE_INFINITY;
+
+	/**
+	 * The priority of this vertex in priority ordered executions. Override
+	 * to schedule vertices with lower values first, the default gives all
+	 * vertices the same priority.
+	 */
+	public double priority() {
+		return 0.0;
+	}
+
+	public void setPriorityLimit(double priorityLimit) {
+		this.priorityLimit = priorityLimit;
+	}
+
+	/**
+	 * Context of the current execution, only available in the local JVM.
 	 */
-	LinkedList<Signal> uncollectedSignals = new LinkedList<Signal>();
+	transient VertexContext context;
+
+	public void setContext(VertexContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * Instrumentation of the graph, null if it was built without.
+	 */
+	transient Instrumentation instrumentation;
+
+	public void setInstrumentation(Instrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+	}
+
+	/**
+	 * Sets the state to `initialState` and discards all signals that were
+	 * received so far, the outgoing edges are kept. Afterwards the vertex
+	 * signals again, even if its state equals the last signaled state.
+	 */
+	public void reinitialize(Object initialState) {
+		setState(initialState);
+		uncollectedSignals.clear();
+		lastSignalState_$eq(Option.<State> empty());
+	}
+
+	/**
+	 * Returns the global aggregator registered under `name`. Contributions
+	 * made in `collect` become visible to all vertices after the next merge,
+	 * until then `value()` returns the result of the previous merge.
+	 * 
+	 * @throws IllegalStateException
+	 *             if the graph is not executed with global aggregators.
+	 */
+	protected <T> GlobalAggregator<T> aggregator(String name) {
+		return VertexContext.aggregator(context, name);
+	}
+
+	/**
+	 * List of signals that have not been collected yet. Cleared and reused
+	 * after every collect operation, so delivering signals does not allocate
+	 * once the list has grown to the number of signals between collects.
+	 * Replaced with a smaller list when a burst of signals left it far larger
+	 * than needed.
+	 */
+	ArrayList<Signal> uncollectedSignals = new ArrayList<Signal>();
+
+	/**
+	 * Largest number of signals collected at once since the list was
+	 * allocated, a lower bound of its capacity.
+	 */
+	int uncollectedSignalsPeak = 0;
+
+	/**
+	 * Smallest peak at which the list is replaced with a smaller one after a
+	 * collect operation that used less than a quarter of it.
+	 */
+	static final int TRIM_THRESHOLD = 64;
 
 	/**
 	 * Function that gets called by the framework whenever this vertex is
@@ -93,8 +194,27 @@ public abstract class DataFlowVertex<Id, State, Signal> extends
 	@SuppressWarnings({ "rawtypes" })
 	@Override
 	public void executeCollectOperation(GraphEditor graphEditor) {
-		setState(collect(state(), uncollectedSignals));
-		uncollectedSignals = new LinkedList<Signal>();
+		long start = instrumentation == null ? 0 : instrumentation
+				.operationStarted();
+		State oldState = state();
+		setState(collect(oldState, uncollectedSignals));
+		int collected = uncollectedSignals.size();
+		if (collected > uncollectedSignalsPeak) {
+			uncollectedSignalsPeak = collected;
+			uncollectedSignals.clear();
+		} else if (uncollectedSignalsPeak >= TRIM_THRESHOLD
+				&& collected * 4 < uncollectedSignalsPeak) {
+			uncollectedSignals = new ArrayList<Signal>(collected * 2);
+			uncollectedSignalsPeak = collected;
+		} else {
+			uncollectedSignals.clear();
+		}
+		if (context != null) {
+			context.stateChanged(id, oldState, state());
+		}
+		if (instrumentation != null) {
+			instrumentation.collectOperationFinished(this, start);
+		}
 	}
 
 	/**
@@ -107,7 +227,13 @@ public abstract class DataFlowVertex<Id, State, Signal> extends
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public boolean deliverSignal(Object signal, Option sourceId) {
-		uncollectedSignals.add((Signal) signal);
+		if (instrumentation == null) {
+			uncollectedSignals.add((Signal) signal);
+		} else {
+			long start = instrumentation.deliveryStarted();
+			uncollectedSignals.add((Signal) signal);
+			instrumentation.signalDelivered(this, start);
+		}
 		return false;
 	}
 
@@ -121,7 +247,7 @@ public abstract class DataFlowVertex<Id, State, Signal> extends
 	 * 
 	 * @param uncollectedSignals
 	 *            all signals received by this vertex since the last time this
-	 *            function was executed
+	 *            function was executed, only valid during this call
 	 * 
 	 * @return The new vertex state.
 	 */
@@ -32,7 +32,8 @@ import java.util.HashMap;
  */
 @SuppressWarnings("serial")
 public abstract class DataGraphVertex<Id, State, Signal> extends
-		AbstractVertex<Object, State> {
+		AbstractVertex<Object, State> implements PrioritizedVertex,
+		ContextAwareVertex, InstrumentedVertex {
 
 	Id id;
 	State state;
@@ -55,6 +56,21 @@ public abstract class DataGraphVertex<Id, State, Signal> extends
 	 */
 	protected HashMap<Object, Signal> mostRecentSignalMap = new HashMap<Object, Signal>();
 
+	/**
+	 * Discards the most recent signal received from the vertex with id
+	 * `sourceId`, e.g. after the edge from that vertex was removed.
+	 * 
+	 * @return true if a signal from that vertex was discarded.
+	 */
+	public boolean removeSignalFrom(Object sourceId) {
+		if (mostRecentSignalMap.containsKey(sourceId)) {
+			mostRecentSignalMap.remove(sourceId);
+			return true;
+		} else {
+			return false;
+		}
+	}
+
 	/**
 	 * Function that gets called by the framework whenever this vertex is
 	 * supposed to collect new signals.
@@ -70,7 +86,16 @@ public abstract class DataGraphVertex<Id, State, Signal> extends
 	@SuppressWarnings({ "rawtypes" })
 	@Override
 	public void executeCollectOperation(GraphEditor graphEditor) {
-		setState(collect(state(), mostRecentSignalMap.values()));
+		long start = instrumentation == null ? 0 : instrumentation
+				.operationStarted();
+		State oldState = state();
+		setState(collect(oldState, mostRecentSignalMap.values()));
+		if (context != null) {
+			context.stateChanged(id, oldState, state());
+		}
+		if (instrumentation != null) {
+			instrumentation.collectOperationFinished(this, start);
+		}
 	}
 
 	/**
@@ -83,10 +108,95 @@ public abstract class DataGraphVertex<Id, State, Signal> extends
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public boolean deliverSignal(Object signal, Option sourceId) {
-		mostRecentSignalMap.put(sourceId.get(), (Signal) signal);
+		if (instrumentation == null) {
+			mostRecentSignalMap.put(sourceId.get(), (Signal) signal);
+		} else {
+			long start = instrumentation.deliveryStarted();
+			mostRecentSignalMap.put(sourceId.get(), (Signal) signal);
+			instrumentation.signalDelivered(this, start);
+		}
 		return false;
 	}
 
+	/**
+	 * Delegates to superclass unless the priority of this vertex is not below
+	 * the current priority limit, in which case the signal operation is
+	 * deferred to a later priority bucket.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	public void executeSignalOperation(GraphEditor graphEditor) {
+		if (priority() < priorityLimit) {
+			if (instrumentation == null) {
+				super.executeSignalOperation(graphEditor);
+			} else {
+				long start = instrumentation.operationStarted();
+				super.executeSignalOperation(graphEditor);
+				instrumentation.signalOperationFinished(this, start);
+			}
+		}
+	}
+
+	/**
+	 * Exclusive upper bound on the priority of vertices that are allowed to
+	 * signal. Only lowered during priority ordered executions.
+	 */
+	double priorityLimit = Double.POSITIVE_INFINITY;
+
+	/**
+	 * The priority of this vertex in priority ordered executions. Override
+	 * to schedule vertices with lower values first, the default gives all
+	 * vertices the same priority.
+	 */
+	public double priority() {
+		return 0.0;
+	}
+
+	public void setPriorityLimit(double priorityLimit) {
+		this.priorityLimit = priorityLimit;
+	}
+
+	/**
+	 * Context of the current execution, only available in the local JVM.
+	 */
+	transient VertexContext context;
+
+	public void setContext(VertexContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * Instrumentation of the graph, null if it was built without.
+	 */
+	transient Instrumentation instrumentation;
+
+	public void setInstrumentation(Instrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+	}
+
+	/**
+	 * Sets the state to `initialState` and discards all signals that were
+	 * received so far, the outgoing edges are kept. Afterwards the vertex
+	 * signals again, even if its state equals the last signaled state.
+	 */
+	public void reinitialize(Object initialState) {
+		setState(initialState);
+		mostRecentSignalMap.clear();
+		lastSignalState_$eq(Option.<State> empty());
+	}
+
+	/**
+	 * Returns the global aggregator registered under `name`. Contributions
+	 * made in `collect` become visible to all vertices after the next merge,
+	 * until then `value()` returns the result of the previous merge.
+	 * 
+	 * @throws IllegalStateException
+	 *             if the graph is not executed with global aggregators.
+	 */
+	protected <T> GlobalAggregator<T> aggregator(String name) {
+		return VertexContext.aggregator(context, name);
+	}
+
 	public Id id() {
 		return id;
 	}
@@ -0,0 +1,63 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+/**
+ * Global aggregator that sums up doubles. Contributions made with
+ * `add(double)` are accumulated without boxing.
+ */
+public class DoubleSumAggregator extends GlobalAggregator<Double> {
+
+	private final ThreadPartials<double[]> sums = new ThreadPartials<double[]>() {
+		@Override
+		protected double[] newPartial() {
+			return new double[1];
+		}
+	};
+
+	public Double neutralElement() {
+		return 0.0;
+	}
+
+	public Double aggregate(Double a, Double b) {
+		return a + b;
+	}
+
+	public void add(double contribution) {
+		sums.get()[0] += contribution;
+	}
+
+	@Override
+	public void contribute(Double contribution) {
+		add(contribution);
+	}
+
+	@Override
+	void merge() {
+		super.merge();
+		double sum = value();
+		for (double[] partial : sums.all()) {
+			sum += partial[0];
+			partial[0] = 0.0;
+		}
+		setValue(sum);
+	}
+
+}
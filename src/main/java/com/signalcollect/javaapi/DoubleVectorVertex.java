@@ -0,0 +1,96 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+import scala.Option;
+
+/**
+ * Vertex for batched queries: the state and the signals are vectors of
+ * doubles with one slot per query, so that k queries share one signal pass
+ * over the graph. Users of the framework extend this class to implement a
+ * specific algorithm by defining a `collect` function that combines the
+ * signals slot by slot.
+ * 
+ * The signal score is the largest change of a slot since the last signal
+ * operation, so the signal threshold bounds the per query precision.
+ */
+@SuppressWarnings("serial")
+public abstract class DoubleVectorVertex<Id> extends
+		DataGraphVertex<Id, double[], double[]> {
+
+	private double[] scaledState;
+	private double scaledStateFactor;
+	private double[] scaledStateSource;
+
+	/**
+	 * @param vertexId
+	 *            unique vertex id.
+	 * @param initialState
+	 *            the initial value of every query slot.
+	 */
+	public DoubleVectorVertex(Id vertexId, double[] initialState) {
+		super(vertexId, initialState);
+	}
+
+	/**
+	 * @return the number of query slots.
+	 */
+	public int slots() {
+		return state().length;
+	}
+
+	/**
+	 * Returns the state multiplied by `factor`. The result is cached until
+	 * the state or the factor change, so all edges with the same factor send
+	 * the same array. Callers must not modify it.
+	 */
+	public double[] scaledState(double factor) {
+		double[] current = state();
+		if (scaledStateSource != current || scaledStateFactor != factor) {
+			double[] scaled = new double[current.length];
+			for (int slot = 0; slot < current.length; slot++) {
+				scaled[slot] = current[slot] * factor;
+			}
+			scaledState = scaled;
+			scaledStateFactor = factor;
+			scaledStateSource = current;
+		}
+		return scaledState;
+	}
+
+	@Override
+	public double scoreSignal() {
+		Option<double[]> lastSignaled = lastSignalState();
+		if (edgesModifiedSinceSignalOperation() || lastSignaled.isEmpty()) {
+			return 1.0;
+		}
+		double[] last = lastSignaled.get();
+		double[] current = state();
+		if (last == current) {
+			return 0.0;
+		}
+		double maxDelta = 0.0;
+		for (int slot = 0; slot < current.length; slot++) {
+			maxDelta = Math.max(maxDelta, Math.abs(current[slot] - last[slot]));
+		}
+		return maxDelta;
+	}
+
+}
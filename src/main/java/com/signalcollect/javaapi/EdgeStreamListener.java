@@ -0,0 +1,41 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+import com.signalcollect.ExecutionInformation;
+
+/**
+ * Callback of an `EdgeStream` that is invoked after each micro-batch has been
+ * applied and the computation has converged again.
+ */
+public interface EdgeStreamListener {
+
+	/**
+	 * @param insertions
+	 *            number of edges added by the batch.
+	 * @param deletions
+	 *            number of edges removed by the batch.
+	 * @param executionInformation
+	 *            statistics of the incremental execution.
+	 */
+	void onBatchProcessed(int insertions, int deletions,
+			ExecutionInformation executionInformation);
+
+}
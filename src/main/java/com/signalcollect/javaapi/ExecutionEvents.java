@@ -0,0 +1,49 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+/**
+ * Receives the execution events of a graph and the vertex operations of its
+ * workers, e.g. to emit them as JDK Flight Recorder events (see
+ * `GraphBuilder.withFlightRecorderEvents`). The vertex operations are reported
+ * by the worker threads that executed them.
+ */
+public interface ExecutionEvents {
+
+	/**
+	 * @return a handle that is passed to `executionFinished`.
+	 */
+	Object executionStarted(String executionMode);
+
+	/**
+	 * Called while no vertex is executing.
+	 */
+	void executionFinished(Object execution);
+
+	/**
+	 * @param collect
+	 *            true for a collect operation, false for a signal operation.
+	 * @param signalsSent
+	 *            number of signals sent by a signal operation.
+	 */
+	void operationFinished(Object vertex, boolean collect, long start,
+			long end, int signalsSent);
+
+}
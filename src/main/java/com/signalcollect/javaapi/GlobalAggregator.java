@@ -0,0 +1,90 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+/**
+ * A named value that all vertices can contribute to inside `collect`. Each
+ * worker thread aggregates its contributions into a partial result, the
+ * partials are merged between execution steps (see `GlobalAggregators`) and
+ * the merged result is visible to all vertices until the next merge.
+ * 
+ * Users of the framework extend this class by defining the neutral element
+ * and the aggregation function, which has to be associative and commutative.
+ */
+public abstract class GlobalAggregator<T> {
+
+	private static class Slot<T> {
+		volatile T value;
+	}
+
+	private final ThreadPartials<Slot<T>> partials = new ThreadPartials<Slot<T>>() {
+		@Override
+		protected Slot<T> newPartial() {
+			Slot<T> slot = new Slot<T>();
+			slot.value = neutralElement();
+			return slot;
+		}
+	};
+
+	private volatile T value;
+
+	public abstract T neutralElement();
+
+	public abstract T aggregate(T a, T b);
+
+	/**
+	 * Adds a contribution to the partial result of the calling worker.
+	 */
+	public void contribute(T contribution) {
+		Slot<T> slot = partials.get();
+		slot.value = aggregate(slot.value, contribution);
+	}
+
+	/**
+	 * @return the value that was aggregated up to the last merge, or the
+	 *         neutral element if nothing was merged yet.
+	 */
+	public T value() {
+		T merged = value;
+		if (merged == null) {
+			return neutralElement();
+		} else {
+			return merged;
+		}
+	}
+
+	void setValue(T value) {
+		this.value = value;
+	}
+
+	/**
+	 * Merges the partial results of all workers into the visible value and
+	 * resets the partials. Must only be called while no vertex is executing.
+	 */
+	void merge() {
+		T merged = neutralElement();
+		for (Slot<T> slot : partials.all()) {
+			merged = aggregate(merged, slot.value);
+			slot.value = neutralElement();
+		}
+		setValue(merged);
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+import java.util.HashMap;
+
+/**
+ * Registry of named global aggregators for an execution (see
+ * `Graph.execute(ExecutionConfiguration, GlobalAggregators)`). The partial
+ * results of all aggregators are merged after every step of a synchronous
+ * execution and every `mergeIntervalInMilliseconds` of an asynchronous
+ * execution.
+ * 
+ * All aggregators have to be registered before the execution starts.
+ * 
+ * @note Contributions are kept in the memory of the local JVM, vertices that
+ *       are executed on other machines cannot contribute.
+ */
+public class GlobalAggregators {
+
+	private final HashMap<String, GlobalAggregator<?>> aggregators = new HashMap<String, GlobalAggregator<?>>();
+
+	private final long mergeIntervalInMilliseconds;
+
+	public GlobalAggregators() {
+		this(100);
+	}
+
+	/**
+	 * @param mergeIntervalInMilliseconds
+	 *            interval between two merges during asynchronous executions.
+	 */
+	public GlobalAggregators(long mergeIntervalInMilliseconds) {
+		this.mergeIntervalInMilliseconds = mergeIntervalInMilliseconds;
+	}
+
+	public long mergeIntervalInMilliseconds() {
+		return mergeIntervalInMilliseconds;
+	}
+
+	/**
+	 * Registers `aggregator` under `name`.
+	 * 
+	 * @return this registry, for chaining.
+	 */
+	public GlobalAggregators register(String name, GlobalAggregator<?> aggregator) {
+		aggregators.put(name, aggregator);
+		return this;
+	}
+
+	/**
+	 * @return the aggregator registered under `name`.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if no aggregator is registered under this name.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> GlobalAggregator<T> get(String name) {
+		GlobalAggregator<?> aggregator = aggregators.get(name);
+		if (aggregator == null) {
+			throw new IllegalArgumentException("No global aggregator is registered under the name \"" + name + "\".");
+		}
+		return (GlobalAggregator<T>) aggregator;
+	}
+
+	/**
+	 * @return the value of the aggregator registered under `name` as of the
+	 *         last merge.
+	 */
+	public <T> T value(String name) {
+		GlobalAggregator<T> aggregator = get(name);
+		return aggregator.value();
+	}
+
+	/**
+	 * Merges the partial results of all registered aggregators. Must only be
+	 * called while no vertex is executing.
+	 */
+	public void merge() {
+		for (GlobalAggregator<?> aggregator : aggregators.values()) {
+			aggregator.merge();
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+/**
+ * JMX view of the metrics of a graph, summed over all workers.
+ */
+public interface GraphMetricsMBean {
+
+	int getWorkers();
+
+	long getExecutions();
+
+	double getMeanExecutionDurationInMilliseconds();
+
+	long getSignalsSent();
+
+	long getSignalsReceived();
+
+	long getSignalOperations();
+
+	long getCollectOperations();
+
+	/**
+	 * @return the largest mean step duration of any worker, compared to the
+	 *         mean over all workers this shows stragglers.
+	 */
+	double getSlowestWorkerMeanStepDurationInMilliseconds();
+
+	double getMeanStepDurationInMilliseconds();
+
+	/**
+	 * @return the total of the latest `Graph.memoryFootprint` estimate, 0 if
+	 *         the footprint was not estimated yet.
+	 */
+	long getEstimatedMemoryInBytes();
+
+	long getEstimatedStateMemoryInBytes();
+
+	long getEstimatedSignalBufferMemoryInBytes();
+
+	long getEstimatedEdgeMemoryInBytes();
+
+}
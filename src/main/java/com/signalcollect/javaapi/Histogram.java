@@ -0,0 +1,82 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+/**
+ * Histogram of non-negative long values with one bucket per power of two.
+ * Recording is synchronized but usually uncontended, because every worker
+ * records into its own histogram.
+ */
+public class Histogram {
+
+	private final long[] buckets = new long[64];
+	private long count = 0;
+	private long sum = 0;
+	private long min = Long.MAX_VALUE;
+	private long max = 0;
+
+	public synchronized void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		buckets[64 - Long.numberOfLeadingZeros(value | 1) - 1]++;
+		count++;
+		sum += value;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+	}
+
+	public synchronized long count() {
+		return count;
+	}
+
+	public synchronized long sum() {
+		return sum;
+	}
+
+	public synchronized long min() {
+		return count == 0 ? 0 : min;
+	}
+
+	public synchronized long max() {
+		return max;
+	}
+
+	public synchronized double mean() {
+		return count == 0 ? 0.0 : (double) sum / count;
+	}
+
+	/**
+	 * @return an upper bound of the value below which the fraction `quantile`
+	 *         of the recorded values lie, precise up to a factor of two.
+	 */
+	public synchronized long quantile(double quantile) {
+		long rank = (long) Math.ceil(quantile * count);
+		long seen = 0;
+		for (int bucket = 0; bucket < buckets.length; bucket++) {
+			seen += buckets[bucket];
+			if (seen >= rank && seen > 0) {
+				return Math.min(max, (2l << bucket) - 1);
+			}
+		}
+		return max;
+	}
+
+}
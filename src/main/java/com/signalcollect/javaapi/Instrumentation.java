@@ -0,0 +1,147 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+import com.signalcollect.AbstractVertex;
+
+/**
+ * Instrumentation hooks that the Java vertex base classes call around their
+ * operations when the graph was built with instrumentation enabled. Vertices
+ * without attached instrumentation only pay for a null check. Vertices that
+ * implement `InstrumentedVertex` outside of this package call the same hooks.
+ * 
+ * The clock is only read for operations that are timed: all operations when
+ * metrics or events are attached, otherwise only the ones the profiler samples.
+ */
+public class Instrumentation {
+
+	private final MetricsRegistry metrics;
+	private final Profiler profiler;
+	private final ExecutionEvents events;
+	private final boolean timed;
+
+	/**
+	 * Start time of an operation that is not timed.
+	 */
+	private static final long UNTIMED = Long.MIN_VALUE;
+
+	/**
+	 * @param metrics
+	 *            registry the operations are counted in, or null.
+	 * @param profiler
+	 *            profiler that samples the operations, or null.
+	 * @param events
+	 *            receiver of the operations as execution events, or null.
+	 */
+	public Instrumentation(MetricsRegistry metrics, Profiler profiler,
+			ExecutionEvents events) {
+		this.metrics = metrics;
+		this.profiler = profiler;
+		this.events = events;
+		this.timed = metrics != null || events != null;
+	}
+
+	public MetricsRegistry metrics() {
+		return metrics;
+	}
+
+	public Profiler profiler() {
+		return profiler;
+	}
+
+	public ExecutionEvents events() {
+		return events;
+	}
+
+	/**
+	 * @return the start time of a signal or collect operation, to be passed to
+	 *         the matching `*Finished` hook.
+	 */
+	public long operationStarted() {
+		if (sampled() || timed) {
+			return System.nanoTime();
+		} else {
+			return UNTIMED;
+		}
+	}
+
+	/**
+	 * @return the start time of a signal delivery, to be passed to
+	 *         `signalDelivered`. Deliveries are only counted by the metrics,
+	 *         so only the sampled ones are timed.
+	 */
+	public long deliveryStarted() {
+		if (sampled()) {
+			return System.nanoTime();
+		} else {
+			return UNTIMED;
+		}
+	}
+
+	private boolean sampled() {
+		return profiler != null && profiler.thread().begin();
+	}
+
+	public void signalDelivered(Object vertex, long start) {
+		if (metrics != null) {
+			metrics.worker().signalReceived();
+		}
+		if (start != UNTIMED) {
+			profiler.thread().end(vertex, Profiler.DELIVER,
+					System.nanoTime() - start);
+		}
+	}
+
+	public void signalOperationFinished(AbstractVertex<?, ?> vertex,
+			long start) {
+		if (start == UNTIMED) {
+			return;
+		}
+		long end = System.nanoTime();
+		if (metrics != null) {
+			metrics.worker().signalOperation(start, end,
+					vertex.outgoingEdges().size());
+		}
+		if (profiler != null) {
+			profiler.thread().endSignal(vertex, end - start);
+		}
+		if (events != null) {
+			events.operationFinished(vertex, false, start, end, vertex
+					.outgoingEdges().size());
+		}
+	}
+
+	public void collectOperationFinished(Object vertex, long start) {
+		if (start == UNTIMED) {
+			return;
+		}
+		long end = System.nanoTime();
+		if (metrics != null) {
+			metrics.worker().collectOperation(start, end);
+		}
+		if (profiler != null) {
+			profiler.thread().end(vertex, Profiler.COLLECT, end - start);
+		}
+		if (events != null) {
+			events.operationFinished(vertex, true, start, end, 0);
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+import scala.Option;
+
+/**
+ * Vertex for batched queries: the state and the signals are vectors of ints
+ * with one slot per query, so that k queries share one signal pass over the
+ * graph. Users of the framework extend this class to implement a specific
+ * algorithm by defining a `collect` function that combines the signals slot
+ * by slot.
+ * 
+ * The signal score is 1 if any slot changed since the last signal operation
+ * and 0 otherwise.
+ */
+@SuppressWarnings("serial")
+public abstract class IntVectorVertex<Id> extends
+		DataGraphVertex<Id, int[], int[]> {
+
+	private int[] offsetState;
+	private int offsetStateOffset;
+	private int[] offsetStateSource;
+
+	/**
+	 * @param vertexId
+	 *            unique vertex id.
+	 * @param initialState
+	 *            the initial value of every query slot.
+	 */
+	public IntVectorVertex(Id vertexId, int[] initialState) {
+		super(vertexId, initialState);
+	}
+
+	/**
+	 * @return the number of query slots.
+	 */
+	public int slots() {
+		return state().length;
+	}
+
+	/**
+	 * Returns the state with `offset` added to every slot, slots with the
+	 * value `Integer.MAX_VALUE` are left unchanged. The result is cached until
+	 * the state or the offset change, so all edges with the same offset send
+	 * the same array. Callers must not modify it.
+	 */
+	public int[] offsetState(int offset) {
+		int[] current = state();
+		if (offsetStateSource != current || offsetStateOffset != offset) {
+			int[] result = new int[current.length];
+			for (int slot = 0; slot < current.length; slot++) {
+				if (current[slot] == Integer.MAX_VALUE) {
+					result[slot] = Integer.MAX_VALUE;
+				} else {
+					result[slot] = current[slot] + offset;
+				}
+			}
+			offsetState = result;
+			offsetStateOffset = offset;
+			offsetStateSource = current;
+		}
+		return offsetState;
+	}
+
+	@Override
+	public double scoreSignal() {
+		Option<int[]> lastSignaled = lastSignalState();
+		if (edgesModifiedSinceSignalOperation() || lastSignaled.isEmpty()) {
+			return 1.0;
+		}
+		int[] last = lastSignaled.get();
+		int[] current = state();
+		if (last == current) {
+			return 0.0;
+		}
+		for (int slot = 0; slot < current.length; slot++) {
+			if (current[slot] != last[slot]) {
+				return 1.0;
+			}
+		}
+		return 0.0;
+	}
+
+}
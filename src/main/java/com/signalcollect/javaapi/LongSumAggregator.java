@@ -0,0 +1,64 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+/**
+ * Global aggregator that sums up longs, e.g. to count vertices with a certain
+ * property. Contributions made with `add(long)` are accumulated without
+ * boxing.
+ */
+public class LongSumAggregator extends GlobalAggregator<Long> {
+
+	private final ThreadPartials<long[]> sums = new ThreadPartials<long[]>() {
+		@Override
+		protected long[] newPartial() {
+			return new long[1];
+		}
+	};
+
+	public Long neutralElement() {
+		return 0l;
+	}
+
+	public Long aggregate(Long a, Long b) {
+		return a + b;
+	}
+
+	public void add(long contribution) {
+		sums.get()[0] += contribution;
+	}
+
+	@Override
+	public void contribute(Long contribution) {
+		add(contribution);
+	}
+
+	@Override
+	void merge() {
+		super.merge();
+		long sum = value();
+		for (long[] partial : sums.all()) {
+			sum += partial[0];
+			partial[0] = 0l;
+		}
+		setValue(sum);
+	}
+
+}
@@ -0,0 +1,209 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimated retained memory of the vertices of a graph per vertex class and
+ * component, see `Graph.memoryFootprint`. The estimates are extrapolated from
+ * the sampled vertices of each class.
+ */
+public class MemoryFootprint {
+
+	static final int VERTEX = 0;
+	static final int STATE = 1;
+	static final int SIGNALS = 2;
+	static final int EDGES = 3;
+
+	/**
+	 * Footprint of the vertices of one class.
+	 */
+	public static class ClassFootprint {
+
+		private final String className;
+		long vertices = 0;
+		long sampledVertices = 0;
+		long edges = 0;
+		final long[] sampledBytes = new long[4];
+
+		ClassFootprint(String className) {
+			this.className = className;
+		}
+
+		void add(ClassFootprint other) {
+			vertices += other.vertices;
+			sampledVertices += other.sampledVertices;
+			edges += other.edges;
+			for (int i = 0; i < sampledBytes.length; i++) {
+				sampledBytes[i] += other.sampledBytes[i];
+			}
+		}
+
+		public String className() {
+			return className;
+		}
+
+		public long vertices() {
+			return vertices;
+		}
+
+		public long edges() {
+			return edges;
+		}
+
+		private long estimate(int component) {
+			if (sampledVertices == 0) {
+				return 0;
+			}
+			return sampledBytes[component] * vertices / sampledVertices;
+		}
+
+		/**
+		 * @return the bytes of the vertex objects without the referenced
+		 *         state, signals and edges.
+		 */
+		public long vertexBytes() {
+			return estimate(VERTEX);
+		}
+
+		public long stateBytes() {
+			return estimate(STATE);
+		}
+
+		/**
+		 * @return the bytes of the buffered signals, e.g. the most recent
+		 *         signal map of `DataGraphVertex`.
+		 */
+		public long signalBytes() {
+			return estimate(SIGNALS);
+		}
+
+		public long edgeBytes() {
+			return estimate(EDGES);
+		}
+
+		public long totalBytes() {
+			return vertexBytes() + stateBytes() + signalBytes() + edgeBytes();
+		}
+
+	}
+
+	private final List<ClassFootprint> classes;
+	private final Map<String, Long> workerBytes;
+
+	MemoryFootprint(List<Map<Class<?>, ClassFootprint>> workers,
+			List<String> workerNames) {
+		Map<Class<?>, ClassFootprint> merged = new HashMap<Class<?>, ClassFootprint>();
+		Map<String, Long> bytesPerWorker = new HashMap<String, Long>();
+		for (int w = 0; w < workers.size(); w++) {
+			long bytes = 0;
+			for (Map.Entry<Class<?>, ClassFootprint> entry : workers.get(w)
+					.entrySet()) {
+				ClassFootprint sum = merged.get(entry.getKey());
+				if (sum == null) {
+					sum = new ClassFootprint(entry.getKey().getName());
+					merged.put(entry.getKey(), sum);
+				}
+				sum.add(entry.getValue());
+				bytes += entry.getValue().totalBytes();
+			}
+			bytesPerWorker.put(workerNames.get(w), bytes);
+		}
+		classes = new ArrayList<ClassFootprint>(merged.values());
+		Collections.sort(classes, new Comparator<ClassFootprint>() {
+			public int compare(ClassFootprint a, ClassFootprint b) {
+				return Long.valueOf(b.totalBytes()).compareTo(a.totalBytes());
+			}
+		});
+		workerBytes = Collections.unmodifiableMap(bytesPerWorker);
+	}
+
+	/**
+	 * @return the footprints of all vertex classes, largest first.
+	 */
+	public List<ClassFootprint> classes() {
+		return Collections.unmodifiableList(classes);
+	}
+
+	/**
+	 * @return the estimated bytes of the vertices of each worker thread.
+	 */
+	public Map<String, Long> workerBytes() {
+		return workerBytes;
+	}
+
+	public long vertexBytes() {
+		long sum = 0;
+		for (ClassFootprint c : classes) {
+			sum += c.vertexBytes();
+		}
+		return sum;
+	}
+
+	public long stateBytes() {
+		long sum = 0;
+		for (ClassFootprint c : classes) {
+			sum += c.stateBytes();
+		}
+		return sum;
+	}
+
+	public long signalBytes() {
+		long sum = 0;
+		for (ClassFootprint c : classes) {
+			sum += c.signalBytes();
+		}
+		return sum;
+	}
+
+	public long edgeBytes() {
+		long sum = 0;
+		for (ClassFootprint c : classes) {
+			sum += c.edgeBytes();
+		}
+		return sum;
+	}
+
+	public long totalBytes() {
+		return vertexBytes() + stateBytes() + signalBytes() + edgeBytes();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%-60s %12s %12s %14s %14s %14s %14s%n",
+				"class", "vertices", "edges", "vertex bytes", "state bytes",
+				"signal bytes", "edge bytes"));
+		for (ClassFootprint c : classes) {
+			sb.append(String.format("%-60s %12d %12d %14d %14d %14d %14d%n",
+					c.className(), c.vertices(), c.edges(), c.vertexBytes(),
+					c.stateBytes(), c.signalBytes(), c.edgeBytes()));
+		}
+		sb.append("total: " + totalBytes() + " bytes");
+		return sb.toString();
+	}
+
+}
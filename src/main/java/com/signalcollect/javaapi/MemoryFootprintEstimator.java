@@ -0,0 +1,128 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.signalcollect.AbstractVertex;
+import com.signalcollect.Vertex;
+
+/**
+ * Estimates the memory footprint of the vertices it is applied to. Every
+ * vertex is counted, but only every `sampleInterval`-th vertex of each worker
+ * is measured, by walking the objects reachable from its state, its signal
+ * buffers and its outgoing edges. Objects that are shared between the
+ * components of a vertex are only counted once.
+ */
+public class MemoryFootprintEstimator {
+
+	private final int sampleInterval;
+
+	private final ThreadPartials<WorkerFootprint> workers = new ThreadPartials<WorkerFootprint>() {
+		@Override
+		protected WorkerFootprint newPartial() {
+			return new WorkerFootprint(Thread.currentThread().getName());
+		}
+	};
+
+	public MemoryFootprintEstimator(int sampleInterval) {
+		if (sampleInterval < 1) {
+			throw new IllegalArgumentException(
+					"The sample interval has to be at least 1.");
+		}
+		this.sampleInterval = sampleInterval;
+	}
+
+	/**
+	 * Counts `v` and measures it if it is sampled. Called by the worker that
+	 * holds the vertex.
+	 */
+	public void add(Vertex<?, ?> v) {
+		workers.get().add(v);
+	}
+
+	/**
+	 * @return the footprint of all vertices that were added.
+	 */
+	public MemoryFootprint result() {
+		List<Map<Class<?>, MemoryFootprint.ClassFootprint>> footprints = new ArrayList<Map<Class<?>, MemoryFootprint.ClassFootprint>>();
+		List<String> names = new ArrayList<String>();
+		for (WorkerFootprint worker : workers.all()) {
+			footprints.add(worker.classes);
+			names.add(worker.name);
+		}
+		return new MemoryFootprint(footprints, names);
+	}
+
+	private class WorkerFootprint {
+
+		final String name;
+		final Map<Class<?>, MemoryFootprint.ClassFootprint> classes = new HashMap<Class<?>, MemoryFootprint.ClassFootprint>();
+		private int countdown = 1;
+
+		WorkerFootprint(String name) {
+			this.name = name;
+		}
+
+		void add(Vertex<?, ?> v) {
+			MemoryFootprint.ClassFootprint footprint = classes.get(v.getClass());
+			if (footprint == null) {
+				footprint = new MemoryFootprint.ClassFootprint(v.getClass()
+						.getName());
+				classes.put(v.getClass(), footprint);
+			}
+			footprint.vertices++;
+			footprint.edges += v.edgeCount();
+			if (--countdown == 0) {
+				countdown = sampleInterval;
+				footprint.sampledVertices++;
+				measure(v, footprint.sampledBytes);
+			}
+		}
+
+		private void measure(Vertex<?, ?> v, long[] bytes) {
+			IdentityHashMap<Object, Object> visited = new IdentityHashMap<Object, Object>();
+			visited.put(v, v);
+			bytes[MemoryFootprint.VERTEX] += SizeEstimator.shallowSize(v
+					.getClass());
+			bytes[MemoryFootprint.STATE] += SizeEstimator.deepSize(v.state(),
+					visited);
+			if (v instanceof DataGraphVertex<?, ?, ?>) {
+				bytes[MemoryFootprint.SIGNALS] += SizeEstimator.deepSize(
+						((DataGraphVertex<?, ?, ?>) v).mostRecentSignalMap,
+						visited);
+			} else if (v instanceof DataFlowVertex<?, ?, ?>) {
+				bytes[MemoryFootprint.SIGNALS] += SizeEstimator.deepSize(
+						((DataFlowVertex<?, ?, ?>) v).uncollectedSignals,
+						visited);
+			}
+			if (v instanceof AbstractVertex<?, ?>) {
+				bytes[MemoryFootprint.EDGES] += SizeEstimator.deepSize(
+						((AbstractVertex<?, ?>) v).outgoingEdges(), visited);
+			}
+		}
+
+	}
+
+}
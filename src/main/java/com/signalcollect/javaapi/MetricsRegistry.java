@@ -0,0 +1,264 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Live execution metrics of a graph, enabled with `GraphBuilder.withMetrics`.
+ * Every worker thread counts into its own `WorkerMetrics`, which are
+ * registered as MBeans with the names
+ * `com.signalcollect.javaapi:type=Worker,graph=<name>,worker=<thread name>`
+ * when the worker executes its first vertex operation. The sums over all
+ * workers are registered as `com.signalcollect.javaapi:type=Graph,name=<name>`.
+ * A worker whose MBean cannot be registered is still counted, the failure is
+ * logged instead of failing its vertex operation.
+ * 
+ * @note Only vertices that are executed in the local JVM are counted.
+ */
+public class MetricsRegistry implements GraphMetricsMBean {
+
+	private static final String DOMAIN = "com.signalcollect.javaapi";
+
+	private static final Logger LOG = Logger.getLogger(MetricsRegistry.class
+			.getName());
+
+	/**
+	 * Suffix of the generated graph names.
+	 */
+	private static final AtomicInteger GRAPHS = new AtomicInteger(0);
+
+	private final String name;
+	private final MBeanServer server = ManagementFactory
+			.getPlatformMBeanServer();
+	private final List<ObjectName> registered = new ArrayList<ObjectName>();
+	private final Histogram executionDurations = new Histogram();
+	private volatile MemoryFootprint memoryFootprint = null;
+
+	private final ThreadPartials<WorkerMetrics> workers = new ThreadPartials<WorkerMetrics>() {
+		@Override
+		protected WorkerMetrics newPartial() {
+			WorkerMetrics worker = new WorkerMetrics(Thread.currentThread()
+					.getName());
+			String objectName = DOMAIN + ":type=Worker,graph="
+					+ ObjectName.quote(name) + ",worker="
+					+ ObjectName.quote(worker.name());
+			try {
+				register(worker, objectName);
+			} catch (JMException e) {
+				LOG.log(Level.WARNING, "Could not register the MBean "
+						+ objectName + ".", e);
+			}
+			return worker;
+		}
+	};
+
+	/**
+	 * @param name
+	 *            name of the graph in the MBean names, unique per JVM, or
+	 *            null to generate a unique name "signal-collect-<n>".
+	 * @throws IllegalStateException
+	 *             if a graph with the same name is registered.
+	 */
+	public MetricsRegistry(String name) {
+		this.name = name != null ? name : "signal-collect-"
+				+ GRAPHS.incrementAndGet();
+		String objectName = DOMAIN + ":type=Graph,name="
+				+ ObjectName.quote(this.name);
+		try {
+			// the interface is not named after this class, so it is given
+			register(new StandardMBean(this, GraphMetricsMBean.class),
+					objectName);
+		} catch (JMException e) {
+			throw new IllegalStateException("Could not register the MBean "
+					+ objectName + ".", e);
+		}
+	}
+
+	/**
+	 * @return the name of the graph in the MBean names.
+	 */
+	public String name() {
+		return name;
+	}
+
+	private void register(Object mbean, String objectName)
+			throws JMException {
+		ObjectName on = new ObjectName(objectName);
+		server.registerMBean(mbean, on);
+		synchronized (registered) {
+			registered.add(on);
+		}
+	}
+
+	/**
+	 * @return the metrics of the calling worker thread.
+	 */
+	WorkerMetrics worker() {
+		return workers.get();
+	}
+
+	/**
+	 * @return the metrics of all workers that executed vertex operations.
+	 */
+	public List<WorkerMetrics> workers() {
+		return workers.all();
+	}
+
+	/**
+	 * Records the duration of an execution and ends the current step of every
+	 * worker. Called by the graph while no vertex is executing.
+	 */
+	public void executionFinished(long durationInNanoseconds) {
+		executionDurations.record(durationInNanoseconds);
+		for (WorkerMetrics worker : workers()) {
+			worker.executionFinished();
+		}
+	}
+
+	/**
+	 * Publishes the latest estimate of `Graph.memoryFootprint`.
+	 */
+	public void memoryFootprintEstimated(MemoryFootprint footprint) {
+		memoryFootprint = footprint;
+	}
+
+	/**
+	 * @return the latest memory footprint estimate or null if the footprint
+	 *         was not estimated yet.
+	 */
+	public MemoryFootprint memoryFootprint() {
+		return memoryFootprint;
+	}
+
+	public Histogram executionDurations() {
+		return executionDurations;
+	}
+
+	/**
+	 * Unregisters all MBeans of this graph.
+	 */
+	public void close() {
+		synchronized (registered) {
+			for (ObjectName on : registered) {
+				try {
+					server.unregisterMBean(on);
+				} catch (JMException e) {
+					// already unregistered
+				}
+			}
+			registered.clear();
+		}
+	}
+
+	public int getWorkers() {
+		return workers().size();
+	}
+
+	public long getExecutions() {
+		return executionDurations.count();
+	}
+
+	public double getMeanExecutionDurationInMilliseconds() {
+		return executionDurations.mean() / 1e6;
+	}
+
+	public long getSignalsSent() {
+		long sum = 0;
+		for (WorkerMetrics worker : workers()) {
+			sum += worker.getSignalsSent();
+		}
+		return sum;
+	}
+
+	public long getSignalsReceived() {
+		long sum = 0;
+		for (WorkerMetrics worker : workers()) {
+			sum += worker.getSignalsReceived();
+		}
+		return sum;
+	}
+
+	public long getSignalOperations() {
+		long sum = 0;
+		for (WorkerMetrics worker : workers()) {
+			sum += worker.getSignalOperations();
+		}
+		return sum;
+	}
+
+	public long getCollectOperations() {
+		long sum = 0;
+		for (WorkerMetrics worker : workers()) {
+			sum += worker.getCollectOperations();
+		}
+		return sum;
+	}
+
+	public double getSlowestWorkerMeanStepDurationInMilliseconds() {
+		double slowest = 0.0;
+		for (WorkerMetrics worker : workers()) {
+			slowest = Math.max(slowest,
+					worker.getMeanStepDurationInMilliseconds());
+		}
+		return slowest;
+	}
+
+	public double getMeanStepDurationInMilliseconds() {
+		long sum = 0;
+		long steps = 0;
+		for (WorkerMetrics worker : workers()) {
+			sum += worker.stepDurations().sum();
+			steps += worker.stepDurations().count();
+		}
+		return steps == 0 ? 0.0 : sum / 1e6 / steps;
+	}
+
+	public long getEstimatedMemoryInBytes() {
+		MemoryFootprint f = memoryFootprint;
+		return f == null ? 0 : f.totalBytes();
+	}
+
+	public long getEstimatedStateMemoryInBytes() {
+		MemoryFootprint f = memoryFootprint;
+		return f == null ? 0 : f.stateBytes();
+	}
+
+	public long getEstimatedSignalBufferMemoryInBytes() {
+		MemoryFootprint f = memoryFootprint;
+		return f == null ? 0 : f.signalBytes();
+	}
+
+	public long getEstimatedEdgeMemoryInBytes() {
+		MemoryFootprint f = memoryFootprint;
+		return f == null ? 0 : f.edgeBytes();
+	}
+
+}
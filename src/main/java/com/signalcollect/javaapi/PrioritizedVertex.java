@@ -0,0 +1,45 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+/**
+ * A vertex that exposes a priority for priority ordered executions (see
+ * `Graph.executeInPriorityOrder`). Vertices with lower priority values are
+ * signaled first, e.g. the tentative distance in SSSP.
+ */
+public interface PrioritizedVertex {
+
+	/**
+	 * @return the current priority of this vertex, lower values are scheduled
+	 *         earlier.
+	 */
+	double priority();
+
+	/**
+	 * Signal operations of vertices with a priority that is not below this
+	 * limit are deferred until the limit is raised. Set by the framework.
+	 *
+	 * @param priorityLimit
+	 *            exclusive upper bound of the priority bucket that is
+	 *            currently being processed.
+	 */
+	void setPriorityLimit(double priorityLimit);
+
+}
@@ -0,0 +1,145 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Costs of the vertex operations attributed to vertex classes by the
+ * `Profiler`, ordered by estimated total time. The totals are extrapolated
+ * from the samples.
+ * 
+ * The shares of the edge classes in the signal operations are listed
+ * separately and are not ranked: they are the sampled signal operations of
+ * the source vertices split evenly over their outgoing edges, not
+ * measurements, and are already contained in the signal entries of the
+ * vertex classes.
+ */
+public class ProfileReport {
+
+	public static class Entry {
+
+		private final String className;
+		private final String operation;
+		private final long samples;
+		private final long sampleInterval;
+		private final long sampledNanoseconds;
+		private final long sampledBytes;
+
+		Entry(String className, String operation, long samples,
+				long sampleInterval, long sampledNanoseconds, long sampledBytes) {
+			this.className = className;
+			this.operation = operation;
+			this.samples = samples;
+			this.sampleInterval = sampleInterval;
+			this.sampledNanoseconds = sampledNanoseconds;
+			this.sampledBytes = sampledBytes;
+		}
+
+		public String className() {
+			return className;
+		}
+
+		public String operation() {
+			return operation;
+		}
+
+		public long samples() {
+			return samples;
+		}
+
+		public long estimatedOperations() {
+			return samples * sampleInterval;
+		}
+
+		public double meanNanoseconds() {
+			return (double) sampledNanoseconds / samples;
+		}
+
+		public double estimatedTotalMilliseconds() {
+			return sampledNanoseconds * sampleInterval / 1e6;
+		}
+
+		public double meanAllocatedBytes() {
+			return (double) sampledBytes / samples;
+		}
+
+	}
+
+	private final List<Entry> entries;
+	private final List<Entry> signalShares;
+
+	ProfileReport(List<Entry> entries, List<Entry> signalShares) {
+		Collections.sort(entries, new Comparator<Entry>() {
+			public int compare(Entry a, Entry b) {
+				return Double.compare(b.estimatedTotalMilliseconds(),
+						a.estimatedTotalMilliseconds());
+			}
+		});
+		Collections.sort(signalShares, new Comparator<Entry>() {
+			public int compare(Entry a, Entry b) {
+				return a.className().compareTo(b.className());
+			}
+		});
+		this.entries = Collections.unmodifiableList(entries);
+		this.signalShares = Collections.unmodifiableList(signalShares);
+	}
+
+	/**
+	 * @return the vertex operations, ordered by estimated total time.
+	 */
+	public List<Entry> entries() {
+		return entries;
+	}
+
+	/**
+	 * @return the even shares of the edge classes in the signal operations of
+	 *         their source vertices, ordered by class name.
+	 */
+	public List<Entry> signalShares() {
+		return signalShares;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		append(sb, entries);
+		if (!signalShares.isEmpty()) {
+			sb.append(String.format(
+					"%nEdge shares of the vertex signal operations, not measured:%n"));
+			append(sb, signalShares);
+		}
+		return sb.toString();
+	}
+
+	private static void append(StringBuilder sb, List<Entry> entries) {
+		sb.append(String.format("%-60s %-14s %12s %12s %14s %12s%n", "class",
+				"operation", "operations", "mean ns", "total ms", "mean bytes"));
+		for (Entry e : entries) {
+			sb.append(String.format("%-60s %-14s %12d %12.0f %14.1f %12.1f%n",
+					e.className(), e.operation(), e.estimatedOperations(),
+					e.meanNanoseconds(), e.estimatedTotalMilliseconds(),
+					e.meanAllocatedBytes()));
+		}
+	}
+
+}
@@ -0,0 +1,217 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.signalcollect.AbstractVertex;
+import com.signalcollect.Edge;
+
+/**
+ * Samples every `sampleInterval`-th vertex operation of each worker thread and
+ * attributes its time and allocated bytes to the class of the vertex, enabled
+ * with `GraphBuilder.withProfiling`. The edges are signaled by the core and
+ * cannot be timed individually, the report lists their share of the signal
+ * operations of the source vertices separately, see
+ * `ProfileReport.signalShares`.
+ * 
+ * Allocated bytes are only measured on JVMs that support thread allocation
+ * accounting, otherwise they are reported as 0.
+ */
+public class Profiler {
+
+	static final int COLLECT = 0;
+	static final int SIGNAL = 1;
+	static final int DELIVER = 2;
+	static final int SIGNAL_SHARE = 3;
+
+	static final String[] OPERATIONS = { "collect", "signal", "deliverSignal",
+			"signal share" };
+
+	private final int sampleInterval;
+
+	private final ThreadPartials<ThreadProfile> threads = new ThreadPartials<ThreadProfile>() {
+		@Override
+		protected ThreadProfile newPartial() {
+			return new ThreadProfile();
+		}
+	};
+
+	/**
+	 * @param sampleInterval
+	 *            one in `sampleInterval` operations of each worker is
+	 *            measured.
+	 */
+	public Profiler(int sampleInterval) {
+		if (sampleInterval < 1) {
+			throw new IllegalArgumentException(
+					"The sample interval has to be at least 1.");
+		}
+		this.sampleInterval = sampleInterval;
+	}
+
+	ThreadProfile thread() {
+		return threads.get();
+	}
+
+	/**
+	 * @return the costs attributed so far, merged over all workers. Call while
+	 *         no vertex is executing.
+	 */
+	public ProfileReport report() {
+		Map<Class<?>, long[][]> merged = new HashMap<Class<?>, long[][]>();
+		for (ThreadProfile thread : threads.all()) {
+			for (Map.Entry<Class<?>, long[][]> entry : thread.profiles
+					.entrySet()) {
+				long[][] sum = merged.get(entry.getKey());
+				if (sum == null) {
+					sum = new long[OPERATIONS.length][3];
+					merged.put(entry.getKey(), sum);
+				}
+				for (int operation = 0; operation < OPERATIONS.length; operation++) {
+					for (int i = 0; i < 3; i++) {
+						sum[operation][i] += entry.getValue()[operation][i];
+					}
+				}
+			}
+		}
+		List<ProfileReport.Entry> entries = new ArrayList<ProfileReport.Entry>();
+		List<ProfileReport.Entry> signalShares = new ArrayList<ProfileReport.Entry>();
+		for (Map.Entry<Class<?>, long[][]> entry : merged.entrySet()) {
+			for (int operation = 0; operation < OPERATIONS.length; operation++) {
+				long[] profile = entry.getValue()[operation];
+				if (profile[0] > 0) {
+					ProfileReport.Entry e = new ProfileReport.Entry(entry
+							.getKey().getName(), OPERATIONS[operation],
+							profile[0], sampleInterval, profile[1], profile[2]);
+					if (operation == SIGNAL_SHARE) {
+						signalShares.add(e);
+					} else {
+						entries.add(e);
+					}
+				}
+			}
+		}
+		return new ProfileReport(entries, signalShares);
+	}
+
+	/**
+	 * Discards the costs attributed so far. Call while no vertex is executing.
+	 */
+	public void reset() {
+		for (ThreadProfile thread : threads.all()) {
+			thread.profiles.clear();
+		}
+	}
+
+	private static final ThreadMXBean THREADS = ManagementFactory
+			.getThreadMXBean();
+
+	private static final boolean ALLOCATION_SUPPORTED = allocationSupported();
+
+	private static boolean allocationSupported() {
+		try {
+			if (THREADS instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+				if (threads.isThreadAllocatedMemorySupported()) {
+					threads.setThreadAllocatedMemoryEnabled(true);
+					return true;
+				}
+			}
+		} catch (Throwable t) {
+			// not a HotSpot JVM
+		}
+		return false;
+	}
+
+	private static long allocatedBytes() {
+		if (ALLOCATION_SUPPORTED) {
+			return ((com.sun.management.ThreadMXBean) THREADS)
+					.getThreadAllocatedBytes(Thread.currentThread().getId());
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Sampling state and attributed costs of one worker thread, indexed by
+	 * class, operation and [samples, nanoseconds, bytes].
+	 */
+	class ThreadProfile {
+
+		final Map<Class<?>, long[][]> profiles = new HashMap<Class<?>, long[][]>();
+		private int countdown = sampleInterval;
+		private boolean sampling = false;
+		private long startBytes;
+
+		/**
+		 * @return true if the operation that begins is sampled.
+		 */
+		boolean begin() {
+			if (--countdown == 0) {
+				countdown = sampleInterval;
+				sampling = true;
+				startBytes = allocatedBytes();
+				return true;
+			}
+			return false;
+		}
+
+		void end(Object vertex, int operation, long nanoseconds) {
+			if (sampling) {
+				sampling = false;
+				record(vertex.getClass(), operation, nanoseconds,
+						allocatedBytes() - startBytes);
+			}
+		}
+
+		void endSignal(AbstractVertex<?, ?> vertex, long nanoseconds) {
+			if (sampling) {
+				sampling = false;
+				long bytes = allocatedBytes() - startBytes;
+				record(vertex.getClass(), SIGNAL, nanoseconds, bytes);
+				int edges = vertex.outgoingEdges().size();
+				for (Edge<?> edge : vertex.outgoingEdges().values()) {
+					record(edge.getClass(), SIGNAL_SHARE, nanoseconds / edges,
+							bytes / edges);
+				}
+			}
+		}
+
+		private void record(Class<?> c, int operation, long nanoseconds,
+				long bytes) {
+			long[][] profile = profiles.get(c);
+			if (profile == null) {
+				profile = new long[OPERATIONS.length][3];
+				profiles.put(c, profile);
+			}
+			profile[operation][0]++;
+			profile[operation][1] += nanoseconds;
+			profile[operation][2] += bytes;
+		}
+
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates object sizes for a 64 bit JVM with compressed references: 12 byte
+ * object headers, 4 byte references and 8 byte alignment.
+ * 
+ * Fields of classes outside the JDK are followed with reflection. JDK classes
+ * are not opened, the common collections are estimated from their sizes
+ * instead, other JDK objects only count with their own fields.
+ */
+class SizeEstimator {
+
+	private static final int HEADER = 12;
+	private static final int ARRAY_HEADER = 16;
+	private static final int REFERENCE = 4;
+
+	private static final ConcurrentHashMap<Class<?>, Long> shallowSizes = new ConcurrentHashMap<Class<?>, Long>();
+	private static final ConcurrentHashMap<Class<?>, Field[]> referenceFields = new ConcurrentHashMap<Class<?>, Field[]>();
+
+	private SizeEstimator() {
+	}
+
+	/**
+	 * @return the estimated bytes of `root` and all objects reachable from it
+	 *         that were not already visited.
+	 */
+	static long deepSize(Object root, IdentityHashMap<Object, Object> visited) {
+		long size = 0;
+		List<Object> stack = new ArrayList<Object>();
+		stack.add(root);
+		while (!stack.isEmpty()) {
+			Object o = stack.remove(stack.size() - 1);
+			if (o == null || visited.put(o, o) != null) {
+				continue;
+			}
+			Class<?> c = o.getClass();
+			if (c.isArray()) {
+				int length = Array.getLength(o);
+				Class<?> component = c.getComponentType();
+				size += align(ARRAY_HEADER + (long) length
+						* fieldSize(component));
+				if (!component.isPrimitive()) {
+					for (int i = 0; i < length; i++) {
+						stack.add(Array.get(o, i));
+					}
+				}
+			} else if (o instanceof String) {
+				size += shallowSize(c)
+						+ align(ARRAY_HEADER + ((String) o).length());
+			} else if (o instanceof Map<?, ?> && isJdkClass(c)) {
+				Map<?, ?> map = (Map<?, ?>) o;
+				// table with a load factor of 0.75 plus one node per entry
+				size += shallowSize(c)
+						+ align(ARRAY_HEADER + REFERENCE
+								* tableCapacity(map.size())) + 32l
+						* map.size();
+				for (Map.Entry<?, ?> entry : map.entrySet()) {
+					stack.add(entry.getKey());
+					stack.add(entry.getValue());
+				}
+			} else if (o instanceof Collection<?> && isJdkClass(c)) {
+				Collection<?> collection = (Collection<?>) o;
+				// the larger of a linked node or an array slot per element
+				size += shallowSize(c) + 24l * collection.size();
+				for (Object element : collection) {
+					stack.add(element);
+				}
+			} else {
+				size += shallowSize(c);
+				if (!isJdkClass(c)) {
+					for (Field f : referenceFields(c)) {
+						try {
+							stack.add(f.get(o));
+						} catch (IllegalAccessException e) {
+							// counted without the referenced object
+						}
+					}
+				}
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * @return the estimated bytes of an instance of `c` without the objects
+	 *         it references.
+	 */
+	static long shallowSize(Class<?> c) {
+		Long size = shallowSizes.get(c);
+		if (size == null) {
+			long fields = 0;
+			for (Class<?> k = c; k != null; k = k.getSuperclass()) {
+				for (Field f : k.getDeclaredFields()) {
+					if (!Modifier.isStatic(f.getModifiers())) {
+						fields += fieldSize(f.getType());
+					}
+				}
+			}
+			size = align(HEADER + fields);
+			shallowSizes.put(c, size);
+		}
+		return size;
+	}
+
+	private static Field[] referenceFields(Class<?> c) {
+		Field[] fields = referenceFields.get(c);
+		if (fields == null) {
+			List<Field> references = new ArrayList<Field>();
+			for (Class<?> k = c; k != null && !isJdkClass(k); k = k
+					.getSuperclass()) {
+				for (Field f : k.getDeclaredFields()) {
+					if (!Modifier.isStatic(f.getModifiers())
+							&& !f.getType().isPrimitive()) {
+						try {
+							f.setAccessible(true);
+							references.add(f);
+						} catch (RuntimeException e) {
+							// not accessible, the referenced object is not counted
+						}
+					}
+				}
+			}
+			fields = references.toArray(new Field[references.size()]);
+			referenceFields.put(c, fields);
+		}
+		return fields;
+	}
+
+	private static boolean isJdkClass(Class<?> c) {
+		String name = c.getName();
+		return name.startsWith("java.") || name.startsWith("javax.")
+				|| name.startsWith("sun.") || name.startsWith("jdk.");
+	}
+
+	private static int tableCapacity(int size) {
+		int capacity = 16;
+		while (capacity * 3 / 4 < size) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private static long fieldSize(Class<?> type) {
+		if (type == long.class || type == double.class) {
+			return 8;
+		} else if (type == int.class || type == float.class) {
+			return 4;
+		} else if (type == short.class || type == char.class) {
+			return 2;
+		} else if (type == byte.class || type == boolean.class) {
+			return 1;
+		} else {
+			return REFERENCE;
+		}
+	}
+
+	private static long align(long size) {
+		return (size + 7) & ~7l;
+	}
+
+}
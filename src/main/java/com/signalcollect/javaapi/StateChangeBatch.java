@@ -0,0 +1,107 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+/**
+ * The ids and new states of all vertices whose state changed during one step,
+ * stored in two parallel arrays. Batches are reused between steps, listeners
+ * must copy whatever they want to keep beyond the callback.
+ */
+public class StateChangeBatch {
+
+	private Object[] ids;
+	private Object[] states;
+	private int size = 0;
+
+	public StateChangeBatch() {
+		this(16);
+	}
+
+	public StateChangeBatch(int initialCapacity) {
+		ids = new Object[initialCapacity];
+		states = new Object[initialCapacity];
+	}
+
+	/**
+	 * @return the number of changed vertices in this batch.
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return the id of the `index`th changed vertex.
+	 */
+	public Object id(int index) {
+		return ids[index];
+	}
+
+	/**
+	 * @return the id of the `index`th changed vertex, for graphs with integer
+	 *         ids.
+	 */
+	public int intId(int index) {
+		return (Integer) ids[index];
+	}
+
+	/**
+	 * @return the new state of the `index`th changed vertex.
+	 */
+	public Object state(int index) {
+		return states[index];
+	}
+
+	void add(Object id, Object state) {
+		if (size == ids.length) {
+			int newCapacity = Math.max(16, size * 2);
+			Object[] newIds = new Object[newCapacity];
+			Object[] newStates = new Object[newCapacity];
+			System.arraycopy(ids, 0, newIds, 0, size);
+			System.arraycopy(states, 0, newStates, 0, size);
+			ids = newIds;
+			states = newStates;
+		}
+		ids[size] = id;
+		states[size] = state;
+		size++;
+	}
+
+	void addAll(StateChangeBatch other) {
+		for (int i = 0; i < other.size; i++) {
+			add(other.ids[i], other.states[i]);
+		}
+	}
+
+	/**
+	 * Empties the batch but keeps its capacity.
+	 */
+	void clear() {
+		for (int i = 0; i < size; i++) {
+			ids[i] = null;
+			states[i] = null;
+		}
+		size = 0;
+	}
+
+}
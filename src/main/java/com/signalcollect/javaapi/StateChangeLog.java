@@ -0,0 +1,54 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+/**
+ * Records the state changes of vertices in one batch per worker thread, so
+ * that the changes of a step can be collected without visiting every vertex.
+ */
+public class StateChangeLog {
+
+	private final ThreadPartials<StateChangeBatch> batches = new ThreadPartials<StateChangeBatch>() {
+		@Override
+		protected StateChangeBatch newPartial() {
+			return new StateChangeBatch();
+		}
+	};
+
+	/**
+	 * Records that the vertex with id `id` changed its state to `state`.
+	 */
+	public void record(Object id, Object state) {
+		batches.get().add(id, state);
+	}
+
+	/**
+	 * Moves all recorded changes into `target`, replacing its previous
+	 * content. Must only be called while no vertex is executing.
+	 */
+	public void drainTo(StateChangeBatch target) {
+		target.clear();
+		for (StateChangeBatch batch : batches.all()) {
+			target.addAll(batch);
+			batch.clear();
+		}
+	}
+
+}
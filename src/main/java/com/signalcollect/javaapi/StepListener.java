@@ -0,0 +1,36 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+/**
+ * Callback of a `SteppingSession` that is invoked after every step.
+ */
+public interface StepListener {
+
+	/**
+	 * @param step
+	 *            the number of steps executed in the session so far.
+	 * @param changes
+	 *            the vertices whose state changed during this step. The batch
+	 *            is reused for the next step.
+	 */
+	void onStep(long step, StateChangeBatch changes);
+
+}
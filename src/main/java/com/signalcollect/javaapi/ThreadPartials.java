@@ -0,0 +1,66 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps one partial result per thread, so that vertices executed by different
+ * workers can contribute without synchronizing with each other. All partials
+ * can be enumerated in order to merge them while no vertex is executing.
+ */
+abstract class ThreadPartials<Partial> {
+
+	private final List<Partial> partials = new ArrayList<Partial>();
+
+	private final ThreadLocal<Partial> local = new ThreadLocal<Partial>() {
+		@Override
+		protected Partial initialValue() {
+			Partial partial = newPartial();
+			synchronized (partials) {
+				partials.add(partial);
+			}
+			return partial;
+		}
+	};
+
+	/**
+	 * @return a new partial in its neutral state.
+	 */
+	protected abstract Partial newPartial();
+
+	/**
+	 * @return the partial of the calling thread.
+	 */
+	Partial get() {
+		return local.get();
+	}
+
+	/**
+	 * @return a snapshot of the partials of all threads.
+	 */
+	List<Partial> all() {
+		synchronized (partials) {
+			return new ArrayList<Partial>(partials);
+		}
+	}
+
+}
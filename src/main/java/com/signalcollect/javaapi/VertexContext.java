@@ -0,0 +1,82 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+/**
+ * Objects that are shared by all vertices of a graph during an execution and
+ * that are attached to the vertices by the framework. The context only exists
+ * in the local JVM and is not serialized with the vertices.
+ */
+public class VertexContext {
+
+	private final GlobalAggregators aggregators;
+
+	private final StateChangeLog stateChanges;
+
+	public VertexContext(GlobalAggregators aggregators) {
+		this(aggregators, null);
+	}
+
+	/**
+	 * @param stateChanges
+	 *            log that the vertices record their state changes to, or null
+	 *            if state changes are not tracked.
+	 */
+	public VertexContext(GlobalAggregators aggregators,
+			StateChangeLog stateChanges) {
+		this.aggregators = aggregators;
+		this.stateChanges = stateChanges;
+	}
+
+	/**
+	 * @return the global aggregators of the current execution.
+	 */
+	public GlobalAggregators aggregators() {
+		return aggregators;
+	}
+
+	/**
+	 * Returns the global aggregator registered under `name` in `context`, for
+	 * the `aggregator` methods of the vertex base classes.
+	 * 
+	 * @throws IllegalStateException
+	 *             if `context` is null because the graph is not executed with
+	 *             global aggregators.
+	 */
+	public static <T> GlobalAggregator<T> aggregator(VertexContext context,
+			String name) {
+		if (context == null) {
+			throw new IllegalStateException("Global aggregators are only available when the graph is executed with GlobalAggregators.");
+		}
+		return context.aggregators().get(name);
+	}
+
+	/**
+	 * Records the new state of the vertex with id `id` if state changes are
+	 * tracked and `newState` is not equal to `oldState`.
+	 */
+	public void stateChanged(Object id, Object oldState, Object newState) {
+		if (stateChanges != null && newState != oldState
+				&& (newState == null || !newState.equals(oldState))) {
+			stateChanges.record(id, newState);
+		}
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+/**
+ * Counters of the vertex operations that were executed by one worker thread.
+ * Only the worker thread updates them, JMX clients read them concurrently.
+ * 
+ * The core workers do not expose their message queues to the Java API, so the
+ * idle time is derived from the vertex operations: it is the sum of all gaps
+ * longer than a millisecond between the end of one operation and the start of
+ * the next one. A step ends when the worker executes a signal operation after
+ * a collect operation, its duration is the time from the first to the last
+ * operation of the worker in that step. Steps are only meaningful in
+ * synchronous executions.
+ */
+public class WorkerMetrics implements WorkerMetricsMBean {
+
+	private static final long IDLE_GAP_IN_NANOSECONDS = 1000000;
+
+	private final String name;
+
+	private volatile long signalsSent = 0;
+	private volatile long signalsReceived = 0;
+	private volatile long signalOperations = 0;
+	private volatile long collectOperations = 0;
+	private volatile long idleNanoseconds = 0;
+	private final Histogram stepDurations = new Histogram();
+
+	private long lastOperationEnd = 0;
+	private long stepStart = 0;
+	private boolean inCollectPhase = false;
+
+	WorkerMetrics(String name) {
+		this.name = name;
+	}
+
+	public String name() {
+		return name;
+	}
+
+	void signalReceived() {
+		signalsReceived++;
+	}
+
+	void signalOperation(long start, long end, int signals) {
+		signalOperations++;
+		signalsSent += signals;
+		operation(start, end, false);
+	}
+
+	void collectOperation(long start, long end) {
+		collectOperations++;
+		operation(start, end, true);
+	}
+
+	private void operation(long start, long end, boolean collect) {
+		if (lastOperationEnd != 0) {
+			long gap = start - lastOperationEnd;
+			if (gap > IDLE_GAP_IN_NANOSECONDS) {
+				idleNanoseconds += gap;
+			}
+		}
+		if (stepStart == 0) {
+			stepStart = start;
+		} else if (!collect && inCollectPhase) {
+			stepDurations.record(lastOperationEnd - stepStart);
+			stepStart = start;
+		}
+		inCollectPhase = collect;
+		lastOperationEnd = end;
+	}
+
+	/**
+	 * Ends the current step, called after an execution while no vertex is
+	 * executing.
+	 */
+	void executionFinished() {
+		if (stepStart != 0) {
+			stepDurations.record(lastOperationEnd - stepStart);
+		}
+		stepStart = 0;
+		lastOperationEnd = 0;
+		inCollectPhase = false;
+	}
+
+	public Histogram stepDurations() {
+		return stepDurations;
+	}
+
+	public long getSignalsSent() {
+		return signalsSent;
+	}
+
+	public long getSignalsReceived() {
+		return signalsReceived;
+	}
+
+	public long getSignalOperations() {
+		return signalOperations;
+	}
+
+	public long getCollectOperations() {
+		return collectOperations;
+	}
+
+	private long lastRateTime = System.nanoTime();
+	private long lastSignalsSent = 0;
+	private long lastSignalsReceived = 0;
+	private double signalsSentPerSecond = 0.0;
+	private double signalsReceivedPerSecond = 0.0;
+
+	/**
+	 * Updates both rates at most once per 100 milliseconds, so that reading
+	 * all attributes at once yields consistent values.
+	 */
+	private synchronized void updateRates() {
+		long now = System.nanoTime();
+		long elapsed = now - lastRateTime;
+		if (elapsed >= 100 * 1000000l) {
+			long sent = signalsSent;
+			long received = signalsReceived;
+			signalsSentPerSecond = (sent - lastSignalsSent) * 1e9 / elapsed;
+			signalsReceivedPerSecond = (received - lastSignalsReceived) * 1e9
+					/ elapsed;
+			lastSignalsSent = sent;
+			lastSignalsReceived = received;
+			lastRateTime = now;
+		}
+	}
+
+	public synchronized double getSignalsSentPerSecond() {
+		updateRates();
+		return signalsSentPerSecond;
+	}
+
+	public synchronized double getSignalsReceivedPerSecond() {
+		updateRates();
+		return signalsReceivedPerSecond;
+	}
+
+	public long getIdleTimeInMilliseconds() {
+		return idleNanoseconds / 1000000;
+	}
+
+	public long getSteps() {
+		return stepDurations.count();
+	}
+
+	public double getMeanStepDurationInMilliseconds() {
+		return stepDurations.mean() / 1e6;
+	}
+
+	public double getMaxStepDurationInMilliseconds() {
+		return stepDurations.max() / 1e6;
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+/**
+ * JMX view of the metrics of one worker thread.
+ * 
+ * @note The depth of the worker inboxes is not included, the message queues
+ *       are internal to the core workers and not visible to the Java API.
+ */
+public interface WorkerMetricsMBean {
+
+	long getSignalsSent();
+
+	long getSignalsReceived();
+
+	long getSignalOperations();
+
+	long getCollectOperations();
+
+	/**
+	 * @return signals sent per second since the previous call.
+	 */
+	double getSignalsSentPerSecond();
+
+	/**
+	 * @return signals received per second since the previous call.
+	 */
+	double getSignalsReceivedPerSecond();
+
+	long getIdleTimeInMilliseconds();
+
+	long getSteps();
+
+	double getMeanStepDurationInMilliseconds();
+
+	double getMaxStepDurationInMilliseconds();
+
+}
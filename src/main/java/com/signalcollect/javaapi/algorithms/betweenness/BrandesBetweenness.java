@@ -0,0 +1,160 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.betweenness;
+
+import java.util.Random;
+
+import com.signalcollect.Vertex;
+import com.signalcollect.configuration.ExecutionMode;
+import com.signalcollect.interfaces.AggregationOperation;
+import com.signalcollect.javaapi.ExecutionConfiguration;
+import com.signalcollect.javaapi.Graph;
+import com.signalcollect.javaapi.VertexCommand;
+import com.signalcollect.javaapi.VertexFunction;
+
+/**
+ * Computes betweenness centrality with Brandes' algorithm on a graph of
+ * `BrandesVertex` vertices that are connected with `BrandesEdge` edges. Every
+ * edge needs a reverse edge.
+ * 
+ * Sources are processed in batches of as many sources as the vertices have
+ * slots. For each batch the shortest paths are counted in one synchronous
+ * forward execution, then the dependencies are accumulated with one
+ * synchronous execution per BFS level, from the deepest level up to the
+ * neighbors of the sources.
+ * 
+ * The exact centrality is computed by using all vertices as sources,
+ * `runSampled` approximates it from a random sample of sources.
+ */
+public class BrandesBetweenness {
+
+	private final Graph graph;
+	private final int slots;
+
+	/**
+	 * @param graph
+	 *            graph of `BrandesVertex` vertices.
+	 * @param slots
+	 *            number of slots the vertices were created with.
+	 */
+	public BrandesBetweenness(Graph graph, int slots) {
+		this.graph = graph;
+		this.slots = slots;
+	}
+
+	/**
+	 * Accumulates the dependencies of all vertices on the shortest paths from
+	 * `sources`. Running this with all vertex ids as sources yields the exact
+	 * betweenness centrality, counting each unordered pair twice.
+	 */
+	public void run(Object[] sources) {
+		for (int batchStart = 0; batchStart < sources.length; batchStart += slots) {
+			int batchEnd = Math.min(sources.length, batchStart + slots);
+			for (int i = batchStart; i < batchEnd; i++) {
+				final int slot = i - batchStart;
+				graph.forVertexWithId(sources[i], new VertexFunction<Object>() {
+					public Object f(Vertex<?, ?> v) {
+						((BrandesVertex) v).addSource(slot);
+						return null;
+					}
+				});
+			}
+			graph.recalculateScores();
+			graph.execute(ExecutionConfiguration
+					.withExecutionMode(ExecutionMode.Synchronous()));
+			// the dependencies of the sources themselves are not needed
+			int depth = graph.aggregate(new MaxDepth());
+			for (int level = depth; level > 1; level--) {
+				final int backwardLevel = level;
+				graph.foreachVertex(new VertexCommand() {
+					public void f(Vertex<?, ?> v) {
+						((BrandesVertex) v).prepareBackwardSignal(backwardLevel);
+					}
+				});
+				graph.recalculateScores();
+				graph.execute(ExecutionConfiguration
+						.withExecutionMode(ExecutionMode.Synchronous()));
+			}
+			graph.foreachVertex(new VertexCommand() {
+				public void f(Vertex<?, ?> v) {
+					((BrandesVertex) v).finishBatch();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Approximates the betweenness centrality from `sampleSize` sources that
+	 * are drawn without replacement from `vertexIds`. The accumulated
+	 * dependencies are scaled by `vertexIds.length / sampleSize`.
+	 * 
+	 * @param seed
+	 *            seed for drawing the sample, runs with the same seed use the
+	 *            same sources.
+	 */
+	public void runSampled(Object[] vertexIds, int sampleSize, long seed) {
+		int k = Math.min(sampleSize, vertexIds.length);
+		Object[] candidates = vertexIds.clone();
+		Random random = new Random(seed);
+		for (int i = 0; i < k; i++) {
+			int j = i + random.nextInt(candidates.length - i);
+			Object swap = candidates[i];
+			candidates[i] = candidates[j];
+			candidates[j] = swap;
+		}
+		Object[] sources = new Object[k];
+		System.arraycopy(candidates, 0, sources, 0, k);
+		run(sources);
+		scale((double) vertexIds.length / k);
+	}
+
+	/**
+	 * Multiplies the accumulated centrality of every vertex by `factor`, e.g.
+	 * with 0.5 to count each unordered pair of an undirected graph once.
+	 */
+	public void scale(final double factor) {
+		graph.foreachVertex(new VertexCommand() {
+			public void f(Vertex<?, ?> v) {
+				((BrandesVertex) v).scaleCentrality(factor);
+			}
+		});
+	}
+
+	/**
+	 * Aggregates the largest distance from any source of the current batch.
+	 */
+	@SuppressWarnings("serial")
+	private static class MaxDepth implements AggregationOperation<Integer> {
+
+		public Integer neutralElement() {
+			return 0;
+		}
+
+		public Integer extract(Vertex<?, ?> v) {
+			return ((BrandesVertex) v).depth();
+		}
+
+		public Integer aggregate(Integer a, Integer b) {
+			return Math.max(a, b);
+		}
+
+	}
+
+}
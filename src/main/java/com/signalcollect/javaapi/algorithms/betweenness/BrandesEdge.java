@@ -0,0 +1,42 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.betweenness;
+
+import com.signalcollect.DefaultEdge;
+import com.signalcollect.Vertex;
+
+/**
+ * Edge for the Brandes betweenness computation, forwards the outgoing signal
+ * of the source vertex. All outgoing edges of a vertex send the same signal
+ * object.
+ */
+@SuppressWarnings("serial")
+public class BrandesEdge extends DefaultEdge<Object> {
+
+	public BrandesEdge(Object targetId) {
+		super(targetId);
+	}
+
+	@Override
+	public Object signal(Vertex<?, ?> sourceVertex) {
+		return ((BrandesVertex) sourceVertex).outgoingSignal();
+	}
+
+}
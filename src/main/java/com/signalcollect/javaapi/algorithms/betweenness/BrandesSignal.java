@@ -0,0 +1,48 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.betweenness;
+
+import java.io.Serializable;
+
+/**
+ * Signal of the Brandes betweenness computation. In the forward phase it
+ * carries the number of shortest paths from each source slot for which the
+ * sending vertex is at distance `level`. In the backward phase it
+ * additionally carries the dependencies of the sender on these slots.
+ */
+@SuppressWarnings("serial")
+public class BrandesSignal implements Serializable {
+
+	final boolean forward;
+	final int level;
+	final int[] slots;
+	final double[] sigma;
+	final double[] delta;
+
+	BrandesSignal(boolean forward, int level, int[] slots, double[] sigma,
+			double[] delta) {
+		this.forward = forward;
+		this.level = level;
+		this.slots = slots;
+		this.sigma = sigma;
+		this.delta = delta;
+	}
+
+}
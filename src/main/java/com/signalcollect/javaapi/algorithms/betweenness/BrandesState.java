@@ -0,0 +1,92 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.betweenness;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * State of a vertex in the Brandes betweenness computation: the per source
+ * distances, shortest path counts and dependencies of the current batch of
+ * sources, and the centrality accumulated over all batches.
+ */
+@SuppressWarnings("serial")
+public class BrandesState implements Serializable {
+
+	static final int UNREACHED = -1;
+
+	final int[] distance;
+	final double[] sigma;
+	final double[] delta;
+
+	/**
+	 * Largest distance from any source of the current batch.
+	 */
+	int depth = 0;
+
+	double centrality = 0.0;
+
+	/**
+	 * Signal for the next signal operation, or null if there is nothing to
+	 * send.
+	 */
+	BrandesSignal outgoing;
+
+	BrandesState(int slots) {
+		distance = new int[slots];
+		sigma = new double[slots];
+		delta = new double[slots];
+		reset();
+	}
+
+	/**
+	 * Copy of `other` with copies of its per source arrays, so that a
+	 * vertex operation does not modify the old state.
+	 */
+	BrandesState(BrandesState other) {
+		distance = other.distance.clone();
+		sigma = other.sigma.clone();
+		delta = other.delta.clone();
+		depth = other.depth;
+		centrality = other.centrality;
+		outgoing = other.outgoing;
+	}
+
+	void reset() {
+		Arrays.fill(distance, UNREACHED);
+		Arrays.fill(sigma, 0.0);
+		Arrays.fill(delta, 0.0);
+		depth = 0;
+		outgoing = null;
+	}
+
+	/**
+	 * @return the betweenness centrality accumulated so far.
+	 */
+	public double getCentrality() {
+		return centrality;
+	}
+
+	@Override
+	public String toString() {
+		return "betweenness: " + centrality;
+	}
+
+}
@@ -0,0 +1,224 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.betweenness;
+
+import com.signalcollect.javaapi.DataFlowVertex;
+
+/**
+ * Vertex for computing betweenness centrality with Brandes' algorithm on
+ * unweighted graphs in which every edge has a reverse edge. The shortest
+ * paths from a batch of sources are counted in a synchronous forward BFS,
+ * the dependencies are accumulated level by level in a backward pass that is
+ * driven by `BrandesBetweenness`.
+ * 
+ * Use with `BrandesEdge`.
+ */
+@SuppressWarnings("serial")
+public class BrandesVertex extends
+		DataFlowVertex<Object, BrandesState, BrandesSignal> {
+
+	/**
+	 * @param id
+	 *            unique vertex id.
+	 * @param slots
+	 *            number of sources per batch.
+	 */
+	public BrandesVertex(Object id, int slots) {
+		super(id, new BrandesState(slots));
+	}
+
+	/**
+	 * Starts the shortest path count for the source in slot `slot` at this
+	 * vertex.
+	 */
+	public void addSource(int slot) {
+		BrandesState s = new BrandesState(state());
+		s.distance[slot] = 0;
+		s.sigma[slot] = 1.0;
+		int[] slots;
+		if (s.outgoing == null) {
+			slots = new int[] { slot };
+		} else {
+			slots = new int[s.outgoing.slots.length + 1];
+			System.arraycopy(s.outgoing.slots, 0, slots, 0,
+					s.outgoing.slots.length);
+			slots[slots.length - 1] = slot;
+		}
+		s.outgoing = forwardSignal(0, slots, s);
+		setState(s);
+	}
+
+	/**
+	 * Prepares the backward signal for all slots in which this vertex is at
+	 * distance `level` from the source.
+	 */
+	public void prepareBackwardSignal(int level) {
+		BrandesState s = new BrandesState(state());
+		int count = 0;
+		for (int slot = 0; slot < s.distance.length; slot++) {
+			if (s.distance[slot] == level) {
+				count++;
+			}
+		}
+		if (count == 0) {
+			s.outgoing = null;
+		} else {
+			int[] slots = new int[count];
+			double[] sigma = new double[count];
+			double[] delta = new double[count];
+			int i = 0;
+			for (int slot = 0; slot < s.distance.length; slot++) {
+				if (s.distance[slot] == level) {
+					slots[i] = slot;
+					sigma[i] = s.sigma[slot];
+					delta[i] = s.delta[slot];
+					i++;
+				}
+			}
+			s.outgoing = new BrandesSignal(false, level, slots, sigma, delta);
+		}
+		setState(s);
+	}
+
+	/**
+	 * Adds the dependencies of the current batch to the centrality and
+	 * resets the per source arrays for the next batch.
+	 */
+	public void finishBatch() {
+		BrandesState old = state();
+		BrandesState s = new BrandesState(old.distance.length);
+		s.centrality = old.centrality;
+		for (int slot = 0; slot < old.distance.length; slot++) {
+			if (old.distance[slot] > 0) {
+				s.centrality += old.delta[slot];
+			}
+		}
+		setState(s);
+	}
+
+	public void scaleCentrality(double factor) {
+		BrandesState s = new BrandesState(state());
+		s.centrality *= factor;
+		setState(s);
+	}
+
+	/**
+	 * @return the largest distance from any source of the current batch.
+	 */
+	public int depth() {
+		return state().depth;
+	}
+
+	/**
+	 * @return the signal for all outgoing edges.
+	 */
+	public BrandesSignal outgoingSignal() {
+		return state().outgoing;
+	}
+
+	/**
+	 * Returns `oldState` if no signal changes it, otherwise a copy that is
+	 * made before the first change.
+	 */
+	@Override
+	public BrandesState collect(BrandesState oldState,
+			Iterable<BrandesSignal> uncollectedSignals) {
+		BrandesState s = oldState;
+		int[] discovered = null;
+		int discoveredCount = 0;
+		int level = 0;
+		for (BrandesSignal signal : uncollectedSignals) {
+			if (signal.forward) {
+				level = signal.level + 1;
+				for (int i = 0; i < signal.slots.length; i++) {
+					int slot = signal.slots[i];
+					if (s.distance[slot] == BrandesState.UNREACHED) {
+						if (s == oldState) {
+							s = new BrandesState(oldState);
+						}
+						s.distance[slot] = level;
+						s.sigma[slot] = signal.sigma[i];
+						if (discovered == null) {
+							discovered = new int[s.distance.length];
+						}
+						discovered[discoveredCount++] = slot;
+					} else if (s.distance[slot] == level) {
+						if (s == oldState) {
+							s = new BrandesState(oldState);
+						}
+						s.sigma[slot] += signal.sigma[i];
+					}
+				}
+			} else {
+				// only predecessors on the shortest paths accumulate
+				for (int i = 0; i < signal.slots.length; i++) {
+					int slot = signal.slots[i];
+					if (s.distance[slot] == signal.level - 1) {
+						if (s == oldState) {
+							s = new BrandesState(oldState);
+						}
+						s.delta[slot] += s.sigma[slot] / signal.sigma[i]
+								* (1.0 + signal.delta[i]);
+					}
+				}
+			}
+		}
+		if (discoveredCount > 0) {
+			int[] slots = new int[discoveredCount];
+			System.arraycopy(discovered, 0, slots, 0, discoveredCount);
+			s.depth = Math.max(s.depth, level);
+			s.outgoing = forwardSignal(level, slots, s);
+		}
+		return s;
+	}
+
+	/**
+	 * The outgoing signal has been sent, the per source arrays are kept.
+	 */
+	@Override
+	public BrandesState resetState() {
+		BrandesState old = state();
+		if (old.outgoing == null) {
+			return old;
+		}
+		BrandesState s = new BrandesState(old);
+		s.outgoing = null;
+		return s;
+	}
+
+	@Override
+	public double scoreSignal() {
+		if (state().outgoing != null) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+	private static BrandesSignal forwardSignal(int level, int[] slots,
+			BrandesState s) {
+		double[] sigma = new double[slots.length];
+		for (int i = 0; i < slots.length; i++) {
+			sigma[i] = s.sigma[slots[i]];
+		}
+		return new BrandesSignal(true, level, slots, sigma, null);
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.bfs;
+
+import java.io.Serializable;
+
+/**
+ * Signal of a multi-source BFS: the sources that reached the sending vertex
+ * at `depth`, as a bitset with one bit per source.
+ */
+@SuppressWarnings("serial")
+public class BfsFrontier implements Serializable {
+
+	final int depth;
+	final long[] sources;
+
+	public BfsFrontier(int depth, long[] sources) {
+		this.depth = depth;
+		this.sources = sources;
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public long[] getSources() {
+		return sources;
+	}
+
+}
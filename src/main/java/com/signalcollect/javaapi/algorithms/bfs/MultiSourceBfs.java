@@ -0,0 +1,98 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.bfs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.signalcollect.ExecutionInformation;
+import com.signalcollect.Vertex;
+import com.signalcollect.configuration.ExecutionMode;
+import com.signalcollect.javaapi.ExecutionConfiguration;
+import com.signalcollect.javaapi.Graph;
+import com.signalcollect.javaapi.VertexCommand;
+import com.signalcollect.javaapi.VertexFunction;
+
+/**
+ * Runs BFS traversals from many sources on a graph of `MultiSourceBfsVertex`
+ * vertices that are connected with `MultiSourceBfsEdge` edges. The sources
+ * are processed in batches of 64 times the number of words per bitset, all
+ * traversals of a batch advance together in one synchronous execution.
+ * 
+ * After the run every vertex state holds the distance sum, the number of
+ * reached sources and the eccentricity with respect to all sources.
+ */
+public class MultiSourceBfs {
+
+	private final Graph graph;
+	private final int words;
+
+	/**
+	 * @param graph
+	 *            graph of `MultiSourceBfsVertex` vertices.
+	 * @param words
+	 *            number of 64 bit words per bitset the vertices were
+	 *            created with.
+	 */
+	public MultiSourceBfs(Graph graph, int words) {
+		this.graph = graph;
+		this.words = words;
+	}
+
+	/**
+	 * @return the number of sources that are traversed together.
+	 */
+	public int batchSize() {
+		return 64 * words;
+	}
+
+	/**
+	 * Runs a BFS from every vertex in `sources`.
+	 * 
+	 * @return the execution information of each batch.
+	 */
+	public List<ExecutionInformation> run(Object[] sources) {
+		List<ExecutionInformation> batches = new ArrayList<ExecutionInformation>();
+		for (int batchStart = 0; batchStart < sources.length; batchStart += batchSize()) {
+			if (batchStart > 0) {
+				graph.foreachVertex(new VertexCommand() {
+					public void f(Vertex<?, ?> v) {
+						((MultiSourceBfsVertex) v).startBatch();
+					}
+				});
+			}
+			int batchEnd = Math.min(sources.length, batchStart + batchSize());
+			for (int i = batchStart; i < batchEnd; i++) {
+				final int sourceIndex = i - batchStart;
+				graph.forVertexWithId(sources[i], new VertexFunction<Object>() {
+					public Object f(Vertex<?, ?> v) {
+						((MultiSourceBfsVertex) v).addSource(sourceIndex);
+						return null;
+					}
+				});
+			}
+			graph.recalculateScores();
+			batches.add(graph.execute(ExecutionConfiguration
+					.withExecutionMode(ExecutionMode.Synchronous())));
+		}
+		return batches;
+	}
+
+}
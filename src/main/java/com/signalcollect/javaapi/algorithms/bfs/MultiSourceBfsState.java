@@ -0,0 +1,114 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.bfs;
+
+import java.io.Serializable;
+
+/**
+ * State of a vertex in a multi-source BFS. The sources that have reached the
+ * vertex are kept in a bitset, the distances to them are only kept as
+ * aggregates.
+ */
+@SuppressWarnings("serial")
+public class MultiSourceBfsState implements Serializable {
+
+	/**
+	 * One bit per source of the current batch, set once the source has
+	 * reached this vertex.
+	 */
+	long[] seen;
+
+	/**
+	 * Sources that reached this vertex in the last collect, or null if none
+	 * did since the last signal operation.
+	 */
+	BfsFrontier frontier;
+
+	long distanceSum = 0;
+	long reachedSources = 0;
+	int eccentricity = 0;
+
+	/**
+	 * Whether this vertex was one of the sources itself.
+	 */
+	boolean seenItself = false;
+
+	MultiSourceBfsState(int words) {
+		seen = new long[words];
+	}
+
+	/**
+	 * Copy of `other` with a copy of its seen sources, so that a collect does
+	 * not modify the old state.
+	 */
+	MultiSourceBfsState(MultiSourceBfsState other) {
+		seen = other.seen.clone();
+		frontier = other.frontier;
+		distanceSum = other.distanceSum;
+		reachedSources = other.reachedSources;
+		eccentricity = other.eccentricity;
+		seenItself = other.seenItself;
+	}
+
+	/**
+	 * @return the sum of the distances from all sources that reached this
+	 *         vertex.
+	 */
+	public long getDistanceSum() {
+		return distanceSum;
+	}
+
+	/**
+	 * @return the number of sources that reached this vertex, including the
+	 *         vertex itself if it is a source.
+	 */
+	public long getReachedSources() {
+		return reachedSources;
+	}
+
+	/**
+	 * @return the largest distance from any source that reached this vertex.
+	 *         If all vertices are sources this is the eccentricity in the
+	 *         reversed graph, otherwise a lower bound.
+	 */
+	public int getEccentricity() {
+		return eccentricity;
+	}
+
+	/**
+	 * @return the closeness centrality with respect to the sources, the
+	 *         number of reached sources divided by the sum of the distances
+	 *         from them, or 0 if no other source reached this vertex.
+	 */
+	public double getCloseness() {
+		if (distanceSum == 0) {
+			return 0.0;
+		} else {
+			return (reachedSources - (seenItself ? 1 : 0)) / (double) distanceSum;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "reached: " + reachedSources + ", distance sum: " + distanceSum
+				+ ", eccentricity: " + eccentricity;
+	}
+
+}
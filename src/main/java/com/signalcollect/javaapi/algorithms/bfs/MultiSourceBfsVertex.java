@@ -0,0 +1,140 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.bfs;
+
+import com.signalcollect.javaapi.DataFlowVertex;
+
+/**
+ * Vertex for a multi-source BFS that advances the traversals of up to 64
+ * sources per word of its bitsets in a single signal operation. Has to be
+ * executed in synchronous mode, so that all sources of one depth arrive in
+ * the same step.
+ * 
+ * Use with `MultiSourceBfsEdge` and run with `MultiSourceBfs`.
+ */
+@SuppressWarnings("serial")
+public class MultiSourceBfsVertex extends
+		DataFlowVertex<Object, MultiSourceBfsState, BfsFrontier> {
+
+	/**
+	 * @param id
+	 *            unique vertex id.
+	 * @param words
+	 *            number of 64 bit words per bitset, the number of sources
+	 *            per batch is 64 times this number.
+	 */
+	public MultiSourceBfsVertex(Object id, int words) {
+		super(id, new MultiSourceBfsState(words));
+	}
+
+	/**
+	 * Starts the BFS of the source with index `sourceIndex` in the current
+	 * batch at this vertex.
+	 */
+	public void addSource(int sourceIndex) {
+		MultiSourceBfsState s = state();
+		long[] bits = s.frontier == null ? new long[s.seen.length]
+				: s.frontier.sources;
+		long mask = 1l << (sourceIndex & 63);
+		if ((s.seen[sourceIndex >>> 6] & mask) == 0) {
+			s.seen[sourceIndex >>> 6] |= mask;
+			bits[sourceIndex >>> 6] |= mask;
+			s.reachedSources++;
+			s.seenItself = true;
+		}
+		s.frontier = new BfsFrontier(0, bits);
+	}
+
+	/**
+	 * Forgets the sources of the previous batch but keeps the aggregated
+	 * distances.
+	 */
+	public void startBatch() {
+		MultiSourceBfsState s = state();
+		s.seen = new long[s.seen.length];
+		s.frontier = null;
+	}
+
+	/**
+	 * @return the signal for all outgoing edges.
+	 */
+	public BfsFrontier frontierSignal() {
+		return state().frontier;
+	}
+
+	/**
+	 * Marks all sources that reached a neighbor in the previous step and that
+	 * have not reached this vertex yet as seen, and forwards them in the next
+	 * signal operation. The old state is copied, not modified, if new sources
+	 * arrived.
+	 */
+	@Override
+	public MultiSourceBfsState collect(MultiSourceBfsState oldState,
+			Iterable<BfsFrontier> uncollectedSignals) {
+		long[] discovered = null;
+		int depth = 0;
+		for (BfsFrontier signal : uncollectedSignals) {
+			depth = signal.depth + 1;
+			long[] sources = signal.sources;
+			for (int word = 0; word < sources.length; word++) {
+				long newSources = sources[word] & ~oldState.seen[word];
+				if (newSources != 0) {
+					if (discovered == null) {
+						discovered = new long[sources.length];
+					}
+					discovered[word] |= newSources;
+				}
+			}
+		}
+		if (discovered == null) {
+			return oldState;
+		}
+		MultiSourceBfsState newState = new MultiSourceBfsState(oldState);
+		long count = 0;
+		for (int word = 0; word < discovered.length; word++) {
+			count += Long.bitCount(discovered[word]);
+			newState.seen[word] |= discovered[word];
+		}
+		newState.reachedSources += count;
+		newState.distanceSum += count * depth;
+		newState.eccentricity = Math.max(newState.eccentricity, depth);
+		newState.frontier = new BfsFrontier(depth, discovered);
+		return newState;
+	}
+
+	/**
+	 * The frontier has been sent, the seen sources and aggregates are kept.
+	 */
+	@Override
+	public MultiSourceBfsState resetState() {
+		state().frontier = null;
+		return state();
+	}
+
+	@Override
+	public double scoreSignal() {
+		if (state().frontier != null) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.components;
+
+import com.signalcollect.DefaultEdge;
+import com.signalcollect.Vertex;
+
+/**
+ * Edge for `ComponentVertex` and `StrongComponentVertex`. The vertices send
+ * their labels directly, the signal of the edge is the same label.
+ */
+@SuppressWarnings("serial")
+public class ComponentEdge extends DefaultEdge<Object> {
+
+	public ComponentEdge(Object targetId) {
+		super(targetId);
+	}
+
+	/**
+	 * @return the label of a `ComponentVertex` or the signal along the edges
+	 *         of a `StrongComponentVertex` in its current phase.
+	 */
+	@Override
+	public Object signal(Vertex<?, ?> sourceVertex) {
+		if (sourceVertex instanceof StrongComponentVertex) {
+			return ((StrongComponentVertex) sourceVertex).edgeSignal();
+		} else {
+			return ((ComponentVertex) sourceVertex).label();
+		}
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.components;
+
+import scala.Option;
+import scala.Some;
+
+import com.signalcollect.AbstractVertex;
+import com.signalcollect.GraphEditor;
+
+/**
+ * Vertex for connected components by min-label propagation with an int label
+ * that starts at the vertex id. Vertex ids have to be integers. Labels are
+ * merged on delivery and a vertex only signals when its label dropped.
+ * 
+ * With pointer jumping every vertex that adopts a label l also follows the
+ * vertex with id l: that vertex replies with its own label, which may already
+ * be smaller, and pushes every later drop directly to its followers. Labels
+ * then move along the label tree instead of only along the edges, which cuts
+ * the number of steps on graphs with a long diameter.
+ * 
+ * For weakly connected components of a directed graph the vertex follows all
+ * its out-neighbors on the first signal operation, so labels also flow
+ * against the edge direction. For undirected graphs with edges in both
+ * directions this is not needed. Use with `ComponentEdge`.
+ */
+@SuppressWarnings("serial")
+public class ComponentVertex extends AbstractVertex<Object, Integer> {
+
+	private final Integer id;
+	private final boolean directed;
+	private final boolean pointerJumping;
+
+	private int label;
+	private int signaledLabel = Integer.MAX_VALUE;
+
+	/**
+	 * Vertices that receive the label in addition to the edge targets.
+	 */
+	private final IntList followers = new IntList();
+	private int notifiedFollowers = 0;
+
+	/**
+	 * @param id
+	 *            unique vertex id.
+	 * @param directed
+	 *            true to compute weakly connected components of a directed
+	 *            graph.
+	 * @param pointerJumping
+	 *            true to follow the vertex a label originated from.
+	 */
+	public ComponentVertex(Integer id, boolean directed, boolean pointerJumping) {
+		this.id = id;
+		this.label = id;
+		this.directed = directed;
+		this.pointerJumping = pointerJumping;
+	}
+
+	public ComponentVertex(Integer id) {
+		this(id, false, true);
+	}
+
+	public Integer id() {
+		return id;
+	}
+
+	/**
+	 * @return the component label, the smallest id in the component once the
+	 *         computation has converged.
+	 */
+	public Integer state() {
+		return label;
+	}
+
+	public void setState(Integer state) {
+		label = state;
+	}
+
+	public int label() {
+		return label;
+	}
+
+	@SuppressWarnings("rawtypes")
+	public boolean deliverSignal(Object signal, Option sourceId) {
+		if (signal instanceof FollowRequest) {
+			followers.add(((FollowRequest) signal).followerId);
+		} else {
+			label = Math.min(label, (Integer) signal);
+		}
+		return false;
+	}
+
+	/**
+	 * Sends the label to all edge targets and followers if it dropped,
+	 * otherwise only to the followers that have not received it yet.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	public void executeSignalOperation(GraphEditor graphEditor) {
+		Option<Object> sourceId = new Some<Object>(id);
+		boolean firstSignal = signaledLabel == Integer.MAX_VALUE;
+		Integer signal = label;
+		if (label < signaledLabel) {
+			for (Object targetId : outgoingEdges().keySet()) {
+				graphEditor.sendSignal(signal, targetId, sourceId);
+			}
+			notifiedFollowers = 0;
+			if (pointerJumping && label != id) {
+				graphEditor.sendSignal(new FollowRequest(id), label, sourceId);
+			}
+		}
+		for (int i = notifiedFollowers; i < followers.size(); i++) {
+			graphEditor.sendSignal(signal, followers.get(i), sourceId);
+		}
+		notifiedFollowers = followers.size();
+		if (firstSignal && directed) {
+			FollowRequest request = new FollowRequest(id);
+			for (Object targetId : outgoingEdges().keySet()) {
+				graphEditor.sendSignal(request, targetId, sourceId);
+			}
+		}
+		signaledLabel = label;
+	}
+
+	/**
+	 * Labels are merged on delivery, there is nothing to collect.
+	 */
+	@SuppressWarnings("rawtypes")
+	public void executeCollectOperation(GraphEditor graphEditor) {
+	}
+
+	public double scoreSignal() {
+		if (label < signaledLabel || notifiedFollowers < followers.size()) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+	public double scoreCollect() {
+		return 0.0;
+	}
+
+	@Override
+	public String toString() {
+		return "ComponentVertex(id=" + id + ", label=" + label + ")";
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.components;
+
+import com.signalcollect.ExecutionInformation;
+import com.signalcollect.Vertex;
+import com.signalcollect.configuration.ExecutionMode;
+import com.signalcollect.interfaces.AggregationOperation;
+import com.signalcollect.javaapi.ExecutionConfiguration;
+import com.signalcollect.javaapi.Graph;
+
+/**
+ * Computes the connected components of a graph of `ComponentVertex` vertices
+ * that are connected with `ComponentEdge` edges. Afterwards the state of each
+ * vertex is the smallest id in its component.
+ */
+public class ConnectedComponents {
+
+	private final Graph graph;
+
+	public ConnectedComponents(Graph graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * Propagates the labels asynchronously until no label drops anymore.
+	 */
+	public ExecutionInformation run() {
+		return graph.execute(ExecutionConfiguration
+				.withExecutionMode(ExecutionMode.OptimizedAsynchronous()));
+	}
+
+	/**
+	 * @return the number of components, i.e. the number of vertices that kept
+	 *         their own id as label.
+	 */
+	public long componentCount() {
+		return graph.aggregate(new AggregationOperation<Long>() {
+			public Long neutralElement() {
+				return 0l;
+			}
+
+			public Long extract(Vertex<?, ?> v) {
+				ComponentVertex vertex = (ComponentVertex) v;
+				if (vertex.label() == vertex.id()) {
+					return 1l;
+				} else {
+					return 0l;
+				}
+			}
+
+			public Long aggregate(Long a, Long b) {
+				return a + b;
+			}
+		});
+	}
+
+}
@@ -0,0 +1,37 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.components;
+
+import java.io.Serializable;
+
+/**
+ * Asks the receiving vertex to send its label to the vertex with id
+ * `followerId` now and whenever the label drops.
+ */
+@SuppressWarnings("serial")
+public class FollowRequest implements Serializable {
+
+	final int followerId;
+
+	FollowRequest(int followerId) {
+		this.followerId = followerId;
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.components;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints.
+ */
+@SuppressWarnings("serial")
+class IntList implements Serializable {
+
+	private int[] values = new int[4];
+	private int size = 0;
+
+	void add(int value) {
+		if (size == values.length) {
+			values = Arrays.copyOf(values, 2 * size);
+		}
+		values[size++] = value;
+	}
+
+	int get(int index) {
+		return values[index];
+	}
+
+	int size() {
+		return size;
+	}
+
+}
@@ -0,0 +1,183 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.components;
+
+import scala.Option;
+import scala.Some;
+
+import com.signalcollect.AbstractVertex;
+import com.signalcollect.GraphEditor;
+
+/**
+ * Vertex for strongly connected components by forward-backward coloring.
+ * Vertex ids have to be integers. The phases are switched by
+ * `StronglyConnectedComponents`:
+ * 
+ * <ul>
+ * <li>INIT: every vertex sends its id along its edges, so that the targets
+ * learn their in-neighbors.</li>
+ * <li>FORWARD: every unassigned vertex starts with its id as color and the
+ * largest color is propagated along the edges. Afterwards the color of a
+ * vertex is the largest id of an unassigned vertex that reaches it.</li>
+ * <li>BACKWARD: every unassigned vertex whose color is its own id is the root
+ * of a component and its color is propagated against the edges to the
+ * vertices with the same color. These form the component of the root.</li>
+ * </ul>
+ * 
+ * FORWARD and BACKWARD are repeated until all vertices are assigned. Use with
+ * `ComponentEdge`.
+ */
+@SuppressWarnings("serial")
+public class StrongComponentVertex extends AbstractVertex<Object, Integer> {
+
+	public static final int UNASSIGNED = -1;
+
+	public enum Phase {
+		INIT, FORWARD, BACKWARD
+	}
+
+	private final Integer id;
+	private Phase phase = Phase.INIT;
+	private int color;
+	private int component = UNASSIGNED;
+	private boolean pending = true;
+	private final IntList inNeighbors = new IntList();
+
+	public StrongComponentVertex(Integer id) {
+		this.id = id;
+		this.color = id;
+	}
+
+	public Integer id() {
+		return id;
+	}
+
+	/**
+	 * @return the id of the root of the strongly connected component, or
+	 *         UNASSIGNED.
+	 */
+	public Integer state() {
+		return component;
+	}
+
+	public void setState(Integer state) {
+		component = state;
+	}
+
+	public int component() {
+		return component;
+	}
+
+	public boolean isAssigned() {
+		return component != UNASSIGNED;
+	}
+
+	/**
+	 * Switches to the next phase, only unassigned vertices take part in it.
+	 */
+	public void startPhase(Phase next) {
+		phase = next;
+		pending = false;
+		if (!isAssigned()) {
+			if (next == Phase.FORWARD) {
+				color = id;
+				pending = true;
+			} else if (next == Phase.BACKWARD && color == id) {
+				component = id;
+				pending = true;
+			}
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	public boolean deliverSignal(Object signal, Option sourceId) {
+		int value = (Integer) signal;
+		switch (phase) {
+		case INIT:
+			inNeighbors.add(value);
+			break;
+		case FORWARD:
+			if (!isAssigned() && value > color) {
+				color = value;
+				pending = true;
+			}
+			break;
+		case BACKWARD:
+			if (!isAssigned() && value == color) {
+				component = value;
+				pending = true;
+			}
+			break;
+		}
+		return false;
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	public void executeSignalOperation(GraphEditor graphEditor) {
+		pending = false;
+		Option<Object> sourceId = new Some<Object>(id);
+		if (phase == Phase.BACKWARD) {
+			Integer signal = component;
+			for (int i = 0; i < inNeighbors.size(); i++) {
+				graphEditor.sendSignal(signal, inNeighbors.get(i), sourceId);
+			}
+		} else {
+			Integer signal = edgeSignal();
+			for (Object targetId : outgoingEdges().keySet()) {
+				graphEditor.sendSignal(signal, targetId, sourceId);
+			}
+		}
+	}
+
+	/**
+	 * @return the signal that is sent along the outgoing edges, the id in the
+	 *         INIT phase and the color otherwise.
+	 */
+	public Integer edgeSignal() {
+		return phase == Phase.INIT ? id : color;
+	}
+
+	/**
+	 * Signals are merged on delivery, there is nothing to collect.
+	 */
+	@SuppressWarnings("rawtypes")
+	public void executeCollectOperation(GraphEditor graphEditor) {
+	}
+
+	public double scoreSignal() {
+		if (pending) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+	public double scoreCollect() {
+		return 0.0;
+	}
+
+	@Override
+	public String toString() {
+		return "StrongComponentVertex(id=" + id + ", component=" + component
+				+ ")";
+	}
+
+}
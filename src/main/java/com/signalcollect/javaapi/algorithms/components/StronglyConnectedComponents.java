@@ -0,0 +1,127 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.components;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.signalcollect.ExecutionInformation;
+import com.signalcollect.Vertex;
+import com.signalcollect.configuration.ExecutionMode;
+import com.signalcollect.interfaces.AggregationOperation;
+import com.signalcollect.javaapi.ExecutionConfiguration;
+import com.signalcollect.javaapi.Graph;
+import com.signalcollect.javaapi.VertexCommand;
+import com.signalcollect.javaapi.algorithms.components.StrongComponentVertex.Phase;
+
+/**
+ * Computes the strongly connected components of a graph of
+ * `StrongComponentVertex` vertices that are connected with `ComponentEdge`
+ * edges by forward-backward coloring. Every round assigns at least the
+ * component of the largest unassigned id, usually many components at once.
+ */
+public class StronglyConnectedComponents {
+
+	private final Graph graph;
+
+	public StronglyConnectedComponents(Graph graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * Runs rounds of forward and backward coloring until every vertex is
+	 * assigned to a component.
+	 * 
+	 * @return the execution information of each phase.
+	 */
+	public List<ExecutionInformation> run() {
+		List<ExecutionInformation> phases = new ArrayList<ExecutionInformation>();
+		phases.add(execute());
+		while (unassigned() > 0) {
+			startPhase(Phase.FORWARD);
+			phases.add(execute());
+			startPhase(Phase.BACKWARD);
+			phases.add(execute());
+		}
+		return phases;
+	}
+
+	/**
+	 * @return the number of strongly connected components.
+	 */
+	public long componentCount() {
+		return graph.aggregate(new Count(true));
+	}
+
+	private long unassigned() {
+		return graph.aggregate(new Count(false));
+	}
+
+	private ExecutionInformation execute() {
+		return graph.execute(ExecutionConfiguration
+				.withExecutionMode(ExecutionMode.OptimizedAsynchronous()));
+	}
+
+	private void startPhase(final Phase phase) {
+		graph.foreachVertex(new VertexCommand() {
+			public void f(Vertex<?, ?> v) {
+				((StrongComponentVertex) v).startPhase(phase);
+			}
+		});
+		graph.recalculateScores();
+	}
+
+	/**
+	 * Counts either the roots of components or the unassigned vertices.
+	 */
+	private static class Count implements AggregationOperation<Long> {
+
+		private final boolean roots;
+
+		Count(boolean roots) {
+			this.roots = roots;
+		}
+
+		public Long neutralElement() {
+			return 0l;
+		}
+
+		public Long extract(Vertex<?, ?> v) {
+			StrongComponentVertex vertex = (StrongComponentVertex) v;
+			boolean counted;
+			if (roots) {
+				counted = vertex.component() == vertex.id();
+			} else {
+				counted = !vertex.isAssigned();
+			}
+			if (counted) {
+				return 1l;
+			} else {
+				return 0l;
+			}
+		}
+
+		public Long aggregate(Long a, Long b) {
+			return a + b;
+		}
+
+	}
+
+}
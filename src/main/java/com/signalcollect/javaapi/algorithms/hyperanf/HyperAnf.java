@@ -0,0 +1,145 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.hyperanf;
+
+import java.util.Arrays;
+
+import com.signalcollect.Vertex;
+import com.signalcollect.configuration.ExecutionMode;
+import com.signalcollect.interfaces.AggregationOperation;
+import com.signalcollect.javaapi.ExecutionConfiguration;
+import com.signalcollect.javaapi.Graph;
+
+/**
+ * Approximates the neighbourhood function of a graph of `HyperAnfVertex`
+ * vertices that are connected with `HyperAnfEdge` edges, i.e. the number of
+ * pairs of vertices within distance t, for all t. The effective diameter and
+ * the distance distribution are derived from it.
+ * 
+ * Every vertex uses the same fixed amount of memory for its counter, no
+ * matter how large the graph is.
+ */
+public class HyperAnf {
+
+	private final Graph graph;
+	private final com.signalcollect.ExecutionConfiguration stepConfiguration = ExecutionConfiguration
+			.withExecutionMode(ExecutionMode.Synchronous()).withStepsLimit(1);
+	private double[] neighbourhoodFunction = new double[0];
+
+	public HyperAnf(Graph graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * Executes synchronous steps until no counter changes anymore or
+	 * `maxDistance` steps were executed.
+	 * 
+	 * @return the neighbourhood function, entry t is the estimated number of
+	 *         pairs within distance t.
+	 */
+	public double[] run(int maxDistance) {
+		double[] function = new double[maxDistance + 1];
+		function[0] = sumOfEstimates();
+		int t = 0;
+		while (t < maxDistance) {
+			graph.execute(stepConfiguration);
+			t++;
+			function[t] = sumOfEstimates();
+			if (function[t] == function[t - 1]) {
+				t--;
+				break;
+			}
+		}
+		neighbourhoodFunction = Arrays.copyOf(function, t + 1);
+		return neighbourhoodFunction.clone();
+	}
+
+	/**
+	 * @return the distance distribution, entry t is the estimated fraction of
+	 *         reachable pairs of distinct vertices that have distance t.
+	 */
+	public double[] distanceDistribution() {
+		double[] distribution = new double[neighbourhoodFunction.length];
+		double reachablePairs = lastValue() - neighbourhoodFunction[0];
+		for (int t = 1; t < distribution.length && reachablePairs > 0; t++) {
+			distribution[t] = Math.max(0.0, neighbourhoodFunction[t]
+					- neighbourhoodFunction[t - 1])
+					/ reachablePairs;
+		}
+		return distribution;
+	}
+
+	/**
+	 * @return the average distance between reachable pairs of distinct
+	 *         vertices.
+	 */
+	public double averageDistance() {
+		double[] distribution = distanceDistribution();
+		double average = 0.0;
+		for (int t = 1; t < distribution.length; t++) {
+			average += t * distribution[t];
+		}
+		return average;
+	}
+
+	/**
+	 * @return the interpolated distance within which the fraction `alpha` of
+	 *         all reachable pairs lie, usually alpha = 0.9.
+	 */
+	public double effectiveDiameter(double alpha) {
+		double target = alpha * lastValue();
+		if (neighbourhoodFunction[0] >= target) {
+			return 0.0;
+		}
+		for (int t = 1; t < neighbourhoodFunction.length; t++) {
+			if (neighbourhoodFunction[t] >= target) {
+				double previous = neighbourhoodFunction[t - 1];
+				double step = neighbourhoodFunction[t] - previous;
+				return t - 1 + (target - previous) / step;
+			}
+		}
+		return neighbourhoodFunction.length - 1;
+	}
+
+	private double lastValue() {
+		if (neighbourhoodFunction.length == 0) {
+			throw new IllegalStateException(
+					"The neighbourhood function is only available after a run.");
+		}
+		return neighbourhoodFunction[neighbourhoodFunction.length - 1];
+	}
+
+	private double sumOfEstimates() {
+		return graph.aggregate(new AggregationOperation<Double>() {
+			public Double neutralElement() {
+				return 0.0;
+			}
+
+			public Double extract(Vertex<?, ?> v) {
+				return ((HyperAnfVertex) v).estimate();
+			}
+
+			public Double aggregate(Double a, Double b) {
+				return a + b;
+			}
+		});
+	}
+
+}
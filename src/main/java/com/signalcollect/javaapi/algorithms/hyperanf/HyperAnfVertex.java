@@ -0,0 +1,135 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.hyperanf;
+
+import scala.Option;
+
+import com.signalcollect.AbstractVertex;
+import com.signalcollect.GraphEditor;
+
+/**
+ * Vertex for HyperANF. After t synchronous steps its HyperLogLog counter
+ * estimates the number of vertices that reach it within t hops.
+ * 
+ * Incoming counters are merged by register-wise maximum into a separate
+ * buffer, so that the counter that is signaled in a step is not modified by
+ * the deliveries of the same step. The collect operation copies the buffer
+ * into the counter, and a vertex only signals after its counter changed. All
+ * outgoing edges send the same register array. Use with `HyperAnfEdge` in
+ * synchronous executions.
+ */
+@SuppressWarnings("serial")
+public class HyperAnfVertex extends AbstractVertex<Object, byte[]> {
+
+	private final Object id;
+	private final byte[] registers;
+	private final byte[] nextRegisters;
+	private boolean changed = false;
+	private boolean signalPending = true;
+	private double estimate;
+
+	/**
+	 * @param id
+	 *            unique vertex id.
+	 * @param log2m
+	 *            the counters have 2^log2m registers, the relative standard
+	 *            deviation of the estimates is about 1.04 / sqrt(2^log2m).
+	 * @param seed
+	 *            seed of the hash function, the same for all vertices.
+	 */
+	public HyperAnfVertex(Object id, int log2m, long seed) {
+		this.id = id;
+		this.registers = HyperLogLog.newRegisters(log2m);
+		HyperLogLog.add(registers, HyperLogLog.hash(id.hashCode(), seed));
+		this.nextRegisters = registers.clone();
+		this.estimate = HyperLogLog.estimate(registers);
+	}
+
+	public Object id() {
+		return id;
+	}
+
+	/**
+	 * @return the registers of the counter.
+	 */
+	public byte[] state() {
+		return registers;
+	}
+
+	public void setState(byte[] state) {
+		System.arraycopy(state, 0, registers, 0, registers.length);
+		System.arraycopy(state, 0, nextRegisters, 0, registers.length);
+		estimate = HyperLogLog.estimate(registers);
+		signalPending = true;
+	}
+
+	/**
+	 * @return the estimated number of vertices that reach this vertex within
+	 *         the number of steps executed so far, including itself.
+	 */
+	public double estimate() {
+		return estimate;
+	}
+
+	@SuppressWarnings("rawtypes")
+	public boolean deliverSignal(Object signal, Option sourceId) {
+		changed |= HyperLogLog.merge(nextRegisters, (byte[]) signal);
+		return false;
+	}
+
+	@SuppressWarnings("rawtypes")
+	public void executeCollectOperation(GraphEditor graphEditor) {
+		if (changed) {
+			System.arraycopy(nextRegisters, 0, registers, 0, registers.length);
+			estimate = HyperLogLog.estimate(registers);
+			changed = false;
+			signalPending = true;
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public void executeSignalOperation(GraphEditor graphEditor) {
+		signalPending = false;
+		super.executeSignalOperation(graphEditor);
+	}
+
+	public double scoreSignal() {
+		if (signalPending) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+	public double scoreCollect() {
+		if (changed) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "HyperAnfVertex(id=" + id + ", estimate=" + estimate + ")";
+	}
+
+}
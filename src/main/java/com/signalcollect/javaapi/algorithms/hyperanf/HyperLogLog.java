@@ -0,0 +1,121 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.hyperanf;
+
+/**
+ * HyperLogLog counters that are stored as plain byte arrays with one register
+ * per byte, the number of registers is a power of two.
+ */
+public class HyperLogLog {
+
+	private HyperLogLog() {
+	}
+
+	/**
+	 * @return empty registers for 2^log2m registers.
+	 */
+	public static byte[] newRegisters(int log2m) {
+		if (log2m < 4 || log2m > 16) {
+			throw new IllegalArgumentException(
+					"The number of registers has to be between 2^4 and 2^16, was 2^"
+							+ log2m + ".");
+		}
+		return new byte[1 << log2m];
+	}
+
+	/**
+	 * Adds an element with the 64 bit hash `hash`.
+	 */
+	public static void add(byte[] registers, long hash) {
+		int log2m = Integer.numberOfTrailingZeros(registers.length);
+		int index = (int) (hash >>> (64 - log2m));
+		// the sentinel bit bounds the rank if the remaining bits are all zero
+		long remaining = (hash << log2m) | (1l << (log2m - 1));
+		byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+		if (rank > registers[index]) {
+			registers[index] = rank;
+		}
+	}
+
+	/**
+	 * Merges `source` into `target` by taking the register-wise maximum.
+	 * 
+	 * @return true if at least one register of `target` increased.
+	 */
+	public static boolean merge(byte[] target, byte[] source) {
+		boolean changed = false;
+		for (int i = 0; i < target.length; i++) {
+			if (source[i] > target[i]) {
+				target[i] = source[i];
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * @return the estimated number of distinct elements.
+	 */
+	public static double estimate(byte[] registers) {
+		int m = registers.length;
+		double sum = 0.0;
+		int zeros = 0;
+		for (byte register : registers) {
+			sum += 1.0 / (1l << register);
+			if (register == 0) {
+				zeros++;
+			}
+		}
+		double estimate = alpha(m) * m * m / sum;
+		if (estimate <= 2.5 * m && zeros > 0) {
+			// linear counting is more accurate for small cardinalities
+			return m * Math.log((double) m / zeros);
+		} else {
+			return estimate;
+		}
+	}
+
+	/**
+	 * @return a well distributed 64 bit hash of `value`.
+	 */
+	public static long hash(long value, long seed) {
+		long h = value ^ seed;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdl;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53l;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	private static double alpha(int m) {
+		switch (m) {
+		case 16:
+			return 0.673;
+		case 32:
+			return 0.697;
+		case 64:
+			return 0.709;
+		default:
+			return 0.7213 / (1 + 1.079 / m);
+		}
+	}
+
+}
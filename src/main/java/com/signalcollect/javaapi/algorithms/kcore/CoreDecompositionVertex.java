@@ -0,0 +1,196 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.kcore;
+
+import java.util.Arrays;
+
+import scala.Option;
+import scala.Some;
+
+import com.signalcollect.AbstractVertex;
+import com.signalcollect.GraphEditor;
+
+/**
+ * Vertex that computes its core number with the local h-index estimate, for
+ * undirected graphs in which every edge has a reverse edge and vertex ids are
+ * integers.
+ * 
+ * The estimate starts at the degree and only ever drops: on every collect it
+ * becomes the largest h, not above the current estimate, such that at least h
+ * neighbors have an estimate of at least h. A vertex only signals when its
+ * estimate dropped, so the computation converges asynchronously without any
+ * supersteps and the estimates end up at the core numbers.
+ * 
+ * The estimates of the neighbors are kept in an int array that is parallel to
+ * the sorted neighbor ids. Use with `KCoreEdge`, the edges are only used for
+ * their target ids. The edges must not be changed after the first signal.
+ */
+@SuppressWarnings("serial")
+public class CoreDecompositionVertex extends AbstractVertex<Object, Integer> {
+
+	private static final int UNKNOWN = Integer.MAX_VALUE;
+
+	private final Integer id;
+
+	/**
+	 * The current core estimate, UNKNOWN until the degree is known.
+	 */
+	private int core = UNKNOWN;
+
+	/**
+	 * The last estimate that was signaled.
+	 */
+	private int signaledCore = UNKNOWN;
+
+	/**
+	 * Sorted neighbor ids and the most recent estimate of each neighbor.
+	 */
+	private int[] neighbors;
+	private int[] neighborCores;
+
+	/**
+	 * True if the estimate of a neighbor dropped since the last collect.
+	 */
+	private boolean neighborDropped = false;
+
+	/**
+	 * Buffer for the counting in `collect`, not worth serializing.
+	 */
+	private transient int[] counts;
+
+	public CoreDecompositionVertex(Integer id) {
+		this.id = id;
+	}
+
+	public Integer id() {
+		return id;
+	}
+
+	/**
+	 * @return the core estimate, the core number once the computation has
+	 *         converged.
+	 */
+	public Integer state() {
+		return core();
+	}
+
+	public void setState(Integer state) {
+		core = state;
+	}
+
+	/**
+	 * @return the core estimate.
+	 */
+	public int core() {
+		initialize();
+		return core;
+	}
+
+	private void initialize() {
+		if (neighbors == null) {
+			neighbors = new int[outgoingEdges().size()];
+			int i = 0;
+			for (Object targetId : outgoingEdges().keySet()) {
+				neighbors[i++] = (Integer) targetId;
+			}
+			Arrays.sort(neighbors);
+			neighborCores = new int[neighbors.length];
+			Arrays.fill(neighborCores, UNKNOWN);
+			core = Math.min(core, neighbors.length);
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	public boolean deliverSignal(Object signal, Option sourceId) {
+		initialize();
+		int index = Arrays.binarySearch(neighbors, (Integer) sourceId.get());
+		int neighborCore = (Integer) signal;
+		if (index >= 0 && neighborCore < neighborCores[index]) {
+			neighborCores[index] = neighborCore;
+			neighborDropped |= neighborCore < core;
+		}
+		return false;
+	}
+
+	/**
+	 * Recomputes the estimate as the h-index of the neighbor estimates, capped
+	 * by the current estimate.
+	 */
+	@SuppressWarnings("rawtypes")
+	public void executeCollectOperation(GraphEditor graphEditor) {
+		initialize();
+		neighborDropped = false;
+		if (counts == null || counts.length < core + 1) {
+			counts = new int[core + 1];
+		} else {
+			Arrays.fill(counts, 0, core + 1, 0);
+		}
+		for (int neighborCore : neighborCores) {
+			counts[Math.min(neighborCore, core)]++;
+		}
+		int atLeast = 0;
+		int h = core;
+		while (h > 0) {
+			atLeast += counts[h];
+			if (atLeast >= h) {
+				break;
+			}
+			h--;
+		}
+		core = h;
+	}
+
+	/**
+	 * Sends the estimate to all neighbors.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	public void executeSignalOperation(GraphEditor graphEditor) {
+		initialize();
+		Integer signal = core;
+		Option<Object> sourceId = new Some<Object>(id);
+		for (int neighbor : neighbors) {
+			graphEditor.sendSignal(signal, neighbor, sourceId);
+		}
+		signaledCore = core;
+	}
+
+	public double scoreSignal() {
+		if (core() < signaledCore) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+	public double scoreCollect() {
+		if (neighborDropped) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "CoreDecompositionVertex(id=" + id + ", core=" + core() + ")";
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.kcore;
+
+import com.signalcollect.ExecutionInformation;
+import com.signalcollect.Vertex;
+import com.signalcollect.configuration.ExecutionMode;
+import com.signalcollect.interfaces.AggregationOperation;
+import com.signalcollect.javaapi.ExecutionConfiguration;
+import com.signalcollect.javaapi.Graph;
+
+/**
+ * Computes the core number of every vertex of an undirected graph of
+ * `CoreDecompositionVertex` vertices that are connected with `KCoreEdge`
+ * edges in both directions.
+ */
+public class KCoreDecomposition {
+
+	private final Graph graph;
+
+	public KCoreDecomposition(Graph graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * Runs the decomposition asynchronously until no estimate drops anymore.
+	 */
+	public ExecutionInformation run() {
+		return graph.execute(ExecutionConfiguration
+				.withExecutionMode(ExecutionMode.OptimizedAsynchronous()));
+	}
+
+	/**
+	 * @return the largest core number in the graph, the degeneracy.
+	 */
+	public int degeneracy() {
+		return graph.aggregate(new MaxCore());
+	}
+
+	private static class MaxCore implements AggregationOperation<Integer> {
+
+		public Integer neutralElement() {
+			return 0;
+		}
+
+		public Integer extract(Vertex<?, ?> v) {
+			return ((CoreDecompositionVertex) v).core();
+		}
+
+		public Integer aggregate(Integer a, Integer b) {
+			return Math.max(a, b);
+		}
+
+	}
+
+}
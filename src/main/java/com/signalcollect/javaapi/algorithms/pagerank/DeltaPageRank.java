@@ -0,0 +1,178 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.pagerank;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.signalcollect.ExecutionConfiguration;
+import com.signalcollect.ExecutionInformation;
+import com.signalcollect.Vertex;
+import com.signalcollect.interfaces.AggregationOperation;
+import com.signalcollect.javaapi.Graph;
+import com.signalcollect.javaapi.VertexCommand;
+
+/**
+ * Runs the delta PageRank on a graph of `DeltaPageRankVertex` vertices that
+ * are connected with `DeltaPageRankEdge` edges.
+ * 
+ * Each round executes the graph until no residual is above the tolerance, then
+ * the mass that was absorbed by vertices without outgoing edges is
+ * redistributed according to the teleport weights. The run ends when the
+ * absorbed mass is not above `danglingTolerance`.
+ */
+public class DeltaPageRank {
+
+	private final Graph graph;
+	private final double danglingTolerance;
+
+	/**
+	 * @param graph
+	 *            graph of `DeltaPageRankVertex` vertices.
+	 * @param danglingTolerance
+	 *            total dangling mass below which it is not redistributed
+	 *            anymore.
+	 */
+	public DeltaPageRank(Graph graph, double danglingTolerance) {
+		this.graph = graph;
+		this.danglingTolerance = danglingTolerance;
+	}
+
+	/**
+	 * Runs with the default execution configuration.
+	 * 
+	 * @return the execution information of each round.
+	 */
+	public List<ExecutionInformation> run() {
+		return run(null, 0.0);
+	}
+
+	/**
+	 * Runs every round with `config`.
+	 * 
+	 * @return the execution information of each round.
+	 */
+	public List<ExecutionInformation> run(ExecutionConfiguration config) {
+		return run(config, 0.0);
+	}
+
+	/**
+	 * Runs every round with `Graph.executeInPriorityOrder`, which pushes the
+	 * largest residuals first.
+	 * 
+	 * @param bucketWidth
+	 *            width of the residual buckets that are pushed together.
+	 * 
+	 * @return the execution information of each priority bucket of each
+	 *         round.
+	 */
+	public List<ExecutionInformation> runInPriorityOrder(double bucketWidth) {
+		return run(null, bucketWidth);
+	}
+
+	/**
+	 * @param config
+	 *            configuration of every round, null for the default.
+	 * @param bucketWidth
+	 *            executes the rounds in priority order if positive.
+	 */
+	private List<ExecutionInformation> run(ExecutionConfiguration config,
+			double bucketWidth) {
+		List<ExecutionInformation> rounds = new ArrayList<ExecutionInformation>();
+		executeRound(config, bucketWidth, rounds);
+		double totalTeleportWeight = graph.aggregate(new Sum(false));
+		double danglingMass = graph.aggregate(new Sum(true));
+		while (danglingMass > danglingTolerance && totalTeleportWeight > 0) {
+			final double massPerTeleportWeight = danglingMass
+					/ totalTeleportWeight;
+			graph.foreachVertex(new VertexCommand() {
+				public void f(Vertex<?, ?> v) {
+					((DeltaPageRankVertex) v)
+							.redistribute(massPerTeleportWeight);
+				}
+			});
+			graph.recalculateScores();
+			executeRound(config, bucketWidth, rounds);
+			danglingMass = graph.aggregate(new Sum(true));
+		}
+		return rounds;
+	}
+
+	private void executeRound(ExecutionConfiguration config,
+			double bucketWidth, List<ExecutionInformation> rounds) {
+		if (bucketWidth > 0) {
+			rounds.addAll(graph.executeInPriorityOrder(bucketWidth));
+		} else if (config != null) {
+			rounds.add(graph.execute(config));
+		} else {
+			rounds.add(graph.execute());
+		}
+	}
+
+	/**
+	 * @return the sum of all ranks.
+	 */
+	public double totalRank() {
+		return graph.aggregate(new AggregationOperation<Double>() {
+			public Double neutralElement() {
+				return 0.0;
+			}
+
+			public Double extract(Vertex<?, ?> v) {
+				return ((DeltaPageRankVertex) v).rank();
+			}
+
+			public Double aggregate(Double a, Double b) {
+				return a + b;
+			}
+		});
+	}
+
+	/**
+	 * Sums either the dangling masses or the teleport weights.
+	 */
+	private static class Sum implements AggregationOperation<Double> {
+
+		private final boolean danglingMass;
+
+		Sum(boolean danglingMass) {
+			this.danglingMass = danglingMass;
+		}
+
+		public Double neutralElement() {
+			return 0.0;
+		}
+
+		public Double extract(Vertex<?, ?> v) {
+			DeltaPageRankVertex vertex = (DeltaPageRankVertex) v;
+			if (danglingMass) {
+				return vertex.danglingMass();
+			} else {
+				return vertex.teleportWeight();
+			}
+		}
+
+		public Double aggregate(Double a, Double b) {
+			return a + b;
+		}
+
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.pagerank;
+
+import com.signalcollect.DefaultEdge;
+import com.signalcollect.Vertex;
+
+/**
+ * Weighted edge for the delta PageRank. `DeltaPageRankVertex` pushes its
+ * deltas directly, the signal of the edge is the same share of the residual
+ * of the source.
+ */
+@SuppressWarnings("serial")
+public class DeltaPageRankEdge extends DefaultEdge<Object> {
+
+	private final double weight;
+
+	public DeltaPageRankEdge(Object targetId, double weight) {
+		super(targetId);
+		this.weight = weight;
+	}
+
+	/**
+	 * Creates an edge with weight 1.
+	 */
+	public DeltaPageRankEdge(Object targetId) {
+		this(targetId, 1.0);
+	}
+
+	@Override
+	public double weight() {
+		return weight;
+	}
+
+	/**
+	 * @return the share of the residual of the source vertex for this edge.
+	 */
+	@Override
+	public Object signal(Vertex<?, ?> sourceVertex) {
+		return ((DeltaPageRankVertex) sourceVertex).residualShare(weight);
+	}
+
+}
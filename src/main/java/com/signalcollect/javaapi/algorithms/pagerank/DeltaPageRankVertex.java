@@ -0,0 +1,231 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.pagerank;
+
+import scala.Option;
+import scala.Some;
+
+import com.signalcollect.AbstractVertex;
+import com.signalcollect.Edge;
+import com.signalcollect.GraphEditor;
+import com.signalcollect.javaapi.PrioritizedVertex;
+
+/**
+ * PageRank vertex that pushes rank deltas instead of its full rank. Incoming
+ * deltas are accumulated into a primitive residual, a signal operation moves
+ * the residual into the rank and sends `dampingFactor * residual * weight /
+ * sumOfOutWeights` along each outgoing edge. Vertices only signal while their
+ * residual is above the tolerance.
+ * 
+ * Every vertex starts with a residual of `(1 - dampingFactor) *
+ * teleportWeight`, so with a teleport weight of 1 for every vertex the ranks
+ * converge to the same values as in the `PageRankVertex` example. Setting the
+ * weights to a personalization vector yields personalized PageRank.
+ * 
+ * Vertices without outgoing edges keep the damped part of their residual as
+ * dangling mass, `DeltaPageRank` redistributes it according to the teleport
+ * weights. Implements `PrioritizedVertex` so that vertices with large
+ * residuals can be signaled first. Use with `DeltaPageRankEdge`.
+ */
+@SuppressWarnings("serial")
+public class DeltaPageRankVertex extends AbstractVertex<Object, Double>
+		implements PrioritizedVertex {
+
+	private final Object id;
+	private final double teleportWeight;
+	private final double dampingFactor;
+	private final double tolerance;
+
+	private double rank = 0.0;
+	private double residual;
+	private double danglingMass = 0.0;
+	private double sumOfOutWeights = 0.0;
+
+	/**
+	 * @param id
+	 *            unique vertex id.
+	 * @param teleportWeight
+	 *            weight of this vertex in the personalization vector, 1 for
+	 *            the standard PageRank.
+	 * @param dampingFactor
+	 *            probability of following a link instead of teleporting.
+	 * @param tolerance
+	 *            residuals up to this value are not pushed.
+	 */
+	public DeltaPageRankVertex(Object id, double teleportWeight,
+			double dampingFactor, double tolerance) {
+		this.id = id;
+		this.teleportWeight = teleportWeight;
+		this.dampingFactor = dampingFactor;
+		this.tolerance = tolerance;
+		this.residual = (1 - dampingFactor) * teleportWeight;
+	}
+
+	public DeltaPageRankVertex(Object id) {
+		this(id, 1.0, 0.85, 0.001);
+	}
+
+	public Object id() {
+		return id;
+	}
+
+	/**
+	 * @return the rank, excluding the residual that was not pushed yet.
+	 */
+	public Double state() {
+		return rank;
+	}
+
+	public void setState(Double state) {
+		rank = state;
+	}
+
+	public double rank() {
+		return rank;
+	}
+
+	public double residual() {
+		return residual;
+	}
+
+	/**
+	 * @return the part of the current residual that a signal operation
+	 *         pushes along an outgoing edge with weight `weight`.
+	 */
+	public double residualShare(double weight) {
+		return dampingFactor * residual * weight / sumOfOutWeights;
+	}
+
+	public double teleportWeight() {
+		return teleportWeight;
+	}
+
+	public double danglingMass() {
+		return danglingMass;
+	}
+
+	/**
+	 * Adds the share of this vertex of the redistributed dangling mass to its
+	 * residual and clears its own dangling mass.
+	 * 
+	 * @param massPerTeleportWeight
+	 *            total dangling mass divided by the sum of all teleport
+	 *            weights.
+	 */
+	public void redistribute(double massPerTeleportWeight) {
+		residual += massPerTeleportWeight * teleportWeight;
+		danglingMass = 0.0;
+	}
+
+	@SuppressWarnings("rawtypes")
+	public boolean deliverSignal(Object signal, Option sourceId) {
+		residual += (Double) signal;
+		return false;
+	}
+
+	/**
+	 * Moves the residual into the rank and pushes its damped part to the
+	 * neighbors.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	public void executeSignalOperation(GraphEditor graphEditor) {
+		if (priority() >= priorityLimit) {
+			return;
+		}
+		double delta = residual;
+		residual = 0.0;
+		rank += delta;
+		if (outgoingEdges().isEmpty()) {
+			danglingMass += dampingFactor * delta;
+		} else {
+			double deltaPerWeight = dampingFactor * delta / sumOfOutWeights;
+			Option<Object> sourceId = new Some<Object>(id);
+			for (Edge<?> edge : outgoingEdges().values()) {
+				graphEditor.sendSignal(deltaPerWeight * edge.weight(),
+						edge.targetId(), sourceId);
+			}
+		}
+	}
+
+	/**
+	 * Signals are accumulated on delivery, there is nothing to collect.
+	 */
+	@SuppressWarnings("rawtypes")
+	public void executeCollectOperation(GraphEditor graphEditor) {
+	}
+
+	/**
+	 * Only the tolerance decides whether the residual is pushed, independent
+	 * of the signal threshold of the execution.
+	 */
+	public double scoreSignal() {
+		if (residual > tolerance) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+	public double scoreCollect() {
+		return 0.0;
+	}
+
+	/**
+	 * Vertices with larger residuals are signaled first.
+	 */
+	public double priority() {
+		return -residual;
+	}
+
+	private double priorityLimit = Double.POSITIVE_INFINITY;
+
+	public void setPriorityLimit(double priorityLimit) {
+		this.priorityLimit = priorityLimit;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public boolean addEdge(Edge e, GraphEditor graphEditor) {
+		boolean added = super.addEdge(e, graphEditor);
+		if (added) {
+			sumOfOutWeights += e.weight();
+		}
+		return added;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public boolean removeEdge(Object targetId, GraphEditor graphEditor) {
+		Edge<?> outgoingEdge = outgoingEdges().get(targetId);
+		boolean removed = super.removeEdge(targetId, graphEditor);
+		if (removed && outgoingEdge != null) {
+			sumOfOutWeights -= outgoingEdge.weight();
+		}
+		return removed;
+	}
+
+	@Override
+	public String toString() {
+		return "DeltaPageRankVertex(id=" + id + ", rank=" + rank
+				+ ", residual=" + residual + ")";
+	}
+
+}
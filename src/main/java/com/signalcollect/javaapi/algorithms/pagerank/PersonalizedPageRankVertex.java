@@ -0,0 +1,83 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.pagerank;
+
+import com.signalcollect.javaapi.DoubleVectorVertex;
+
+/**
+ * Vertex that computes k personalized PageRank vectors at once, one query
+ * slot per personalization. The rank of slot s is
+ * `(1 - dampingFactor) * personalization[s] + dampingFactor * sum(signals[s])`.
+ * 
+ * Use with `PersonalizedPageRankEdge`. Rank that flows into vertices without
+ * outgoing edges is not redistributed.
+ */
+@SuppressWarnings("serial")
+public class PersonalizedPageRankVertex extends DoubleVectorVertex<Object> {
+
+	private final double[] teleportRanks;
+	private final double dampingFactor;
+
+	/**
+	 * @param id
+	 *            unique vertex id.
+	 * @param personalization
+	 *            the teleport probability of this vertex in every slot, e.g.
+	 *            1 in the slots for which this vertex is the seed and 0
+	 *            otherwise.
+	 * @param dampingFactor
+	 *            probability of following a link instead of teleporting.
+	 */
+	public PersonalizedPageRankVertex(Object id, double[] personalization,
+			double dampingFactor) {
+		super(id, teleportRanks(personalization, dampingFactor));
+		this.teleportRanks = state();
+		this.dampingFactor = dampingFactor;
+	}
+
+	private static double[] teleportRanks(double[] personalization,
+			double dampingFactor) {
+		double[] ranks = new double[personalization.length];
+		for (int slot = 0; slot < personalization.length; slot++) {
+			ranks[slot] = (1 - dampingFactor) * personalization[slot];
+		}
+		return ranks;
+	}
+
+	public double dampingFactor() {
+		return dampingFactor;
+	}
+
+	@Override
+	public double[] collect(double[] oldState,
+			Iterable<double[]> mostRecentSignals) {
+		double[] rankSums = new double[oldState.length];
+		for (double[] signal : mostRecentSignals) {
+			for (int slot = 0; slot < signal.length; slot++) {
+				rankSums[slot] += signal[slot];
+			}
+		}
+		for (int slot = 0; slot < rankSums.length; slot++) {
+			rankSums[slot] = teleportRanks[slot] + dampingFactor * rankSums[slot];
+		}
+		return rankSums;
+	}
+
+}
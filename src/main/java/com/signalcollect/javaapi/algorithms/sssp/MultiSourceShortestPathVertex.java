@@ -0,0 +1,81 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.sssp;
+
+import com.signalcollect.javaapi.IntVectorVertex;
+
+/**
+ * Vertex that computes the shortest path distances from k sources at once,
+ * one query slot per source. Integer.MAX_VALUE represents an infinite
+ * distance.
+ * 
+ * Use with `MultiSourceShortestPathEdge`.
+ */
+@SuppressWarnings("serial")
+public class MultiSourceShortestPathVertex extends IntVectorVertex<Object> {
+
+	/**
+	 * @param id
+	 *            unique vertex id.
+	 * @param sources
+	 *            ids of the sources, the index of a source is its query slot.
+	 */
+	public MultiSourceShortestPathVertex(Object id, Object[] sources) {
+		super(id, initialDistances(id, sources));
+	}
+
+	/**
+	 * @return the distances of the vertex with id `id` before the
+	 *         computation: 0 in the slots where it is the source and infinite
+	 *         in all other slots.
+	 */
+	public static int[] initialDistances(Object id, Object[] sources) {
+		int[] distances = new int[sources.length];
+		for (int slot = 0; slot < sources.length; slot++) {
+			if (id.equals(sources[slot])) {
+				distances[slot] = 0;
+			} else {
+				distances[slot] = Integer.MAX_VALUE;
+			}
+		}
+		return distances;
+	}
+
+	/**
+	 * Computes the slot-wise minimum of the current distances and all
+	 * signals. The state is only copied if at least one distance improves.
+	 */
+	@Override
+	public int[] collect(int[] oldState, Iterable<int[]> mostRecentSignals) {
+		int[] newState = oldState;
+		for (int[] signal : mostRecentSignals) {
+			for (int slot = 0; slot < signal.length; slot++) {
+				if (signal[slot] < newState[slot]) {
+					if (newState == oldState) {
+						newState = oldState.clone();
+					}
+					newState[slot] = signal[slot];
+				}
+			}
+		}
+		return newState;
+	}
+
+}
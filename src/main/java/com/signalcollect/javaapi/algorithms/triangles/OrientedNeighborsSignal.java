@@ -0,0 +1,39 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.triangles;
+
+import java.io.Serializable;
+
+/**
+ * Second signal of the triangle counting: the sorted ids of the neighbors of
+ * the sender that come after it in the degree order.
+ */
+@SuppressWarnings("serial")
+public class OrientedNeighborsSignal implements Serializable {
+
+	final int id;
+	final int[] higherNeighbors;
+
+	OrientedNeighborsSignal(int id, int[] higherNeighbors) {
+		this.id = id;
+		this.higherNeighbors = higherNeighbors;
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.triangles;
+
+import com.signalcollect.Vertex;
+import com.signalcollect.configuration.ExecutionMode;
+import com.signalcollect.interfaces.AggregationOperation;
+import com.signalcollect.javaapi.ExecutionConfiguration;
+import com.signalcollect.javaapi.Graph;
+
+/**
+ * Counts the triangles of an undirected graph of `TriangleCountingVertex`
+ * vertices that are connected with `TriangleCountingEdge` edges in both
+ * directions. Afterwards each vertex state holds its triangle count and local
+ * clustering coefficient.
+ */
+public class TriangleCounting {
+
+	private final Graph graph;
+
+	public TriangleCounting(Graph graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * Runs the three synchronous steps of the triangle counting.
+	 * 
+	 * @return the number of triangles in the graph.
+	 * 
+	 * @throws IllegalStateException
+	 *             if an edge has no reverse edge.
+	 */
+	public long run() {
+		graph.execute(ExecutionConfiguration
+				.withExecutionMode(ExecutionMode.Synchronous()));
+		long missingReverseEdges = graph.aggregate(new MissingReverseEdgeSum());
+		if (missingReverseEdges > 0) {
+			throw new IllegalStateException("Triangle counting requires an undirected graph, but "
+					+ missingReverseEdges + " edges have no reverse edge.");
+		}
+		return graph.aggregate(new TriangleSum()) / 3;
+	}
+
+	/**
+	 * @return the average local clustering coefficient of all vertices.
+	 */
+	public double averageClusteringCoefficient() {
+		double[] sumAndCount = graph.aggregate(new ClusteringSum());
+		if (sumAndCount[1] == 0) {
+			return 0.0;
+		} else {
+			return sumAndCount[0] / sumAndCount[1];
+		}
+	}
+
+	private static class TriangleSum implements AggregationOperation<Long> {
+
+		public Long neutralElement() {
+			return 0l;
+		}
+
+		public Long extract(Vertex<?, ?> v) {
+			return ((TriangleCountingVertex) v).state().getTriangles();
+		}
+
+		public Long aggregate(Long a, Long b) {
+			return a + b;
+		}
+
+	}
+
+	private static class MissingReverseEdgeSum implements
+			AggregationOperation<Long> {
+
+		public Long neutralElement() {
+			return 0l;
+		}
+
+		public Long extract(Vertex<?, ?> v) {
+			return (long) ((TriangleCountingVertex) v).state().missingReverseEdges;
+		}
+
+		public Long aggregate(Long a, Long b) {
+			return a + b;
+		}
+
+	}
+
+	private static class ClusteringSum implements
+			AggregationOperation<double[]> {
+
+		public double[] neutralElement() {
+			return new double[2];
+		}
+
+		public double[] extract(Vertex<?, ?> v) {
+			return new double[] {
+					((TriangleCountingVertex) v).state()
+							.getClusteringCoefficient(), 1.0 };
+		}
+
+		public double[] aggregate(double[] a, double[] b) {
+			return new double[] { a[0] + b[0], a[1] + b[1] };
+		}
+
+	}
+
+}
@@ -0,0 +1,215 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.triangles;
+
+import java.util.Arrays;
+
+import scala.Option;
+import scala.Some;
+
+import com.signalcollect.GraphEditor;
+import com.signalcollect.javaapi.DataFlowVertex;
+
+/**
+ * Vertex that counts the triangles it is part of, for undirected graphs in
+ * which every edge has a reverse edge and vertex ids are integers.
+ * 
+ * The computation takes three synchronous steps. First every vertex sends its
+ * degree. Then every vertex orients its edges towards the neighbors that come
+ * later in the order of (degree, id) and sends its sorted list of these
+ * higher neighbors. A vertex v that receives the list of a lower neighbor u
+ * finds the triangles (u, v, w) by merging it with its own list. Each
+ * triangle is found exactly once, at its middle vertex. Finally the vertices
+ * send each neighbor the number of triangles it was found in.
+ * 
+ * Use with `TriangleCountingEdge`. The lists of higher neighbors are only
+ * sent to these neighbors. Degrees received along edges without a reverse
+ * edge are ignored and counted, see `TriangleCounting.run`.
+ */
+@SuppressWarnings("serial")
+public class TriangleCountingVertex extends
+		DataFlowVertex<Integer, TriangleState, Object> {
+
+	private static final int[] NO_NEIGHBORS = new int[0];
+
+	public TriangleCountingVertex(Integer id) {
+		super(id, new TriangleState());
+		state().outgoing = START;
+	}
+
+	/**
+	 * Marks that the degree has not been sent yet, the degree is only known
+	 * once all edges were added.
+	 */
+	private static final Object START = new Object();
+
+	/**
+	 * Marks that each neighbor gets its own count.
+	 */
+	private static final Object CREDITS = new Object();
+
+	/**
+	 * @return the signal for the edge to the vertex with id `targetId`.
+	 */
+	public Object signalFor(Object targetId) {
+		TriangleState s = state();
+		if (s.outgoing == START) {
+			return new DegreeSignal(id(), outgoingEdges().size());
+		} else if (s.outgoing == CREDITS) {
+			int index = Arrays.binarySearch(s.neighbors, (Integer) targetId);
+			return s.credits[index];
+		} else {
+			return s.outgoing;
+		}
+	}
+
+	/**
+	 * Sends the list of higher neighbors only to these neighbors, all other
+	 * signals along every edge.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	protected void sendSignals(GraphEditor graphEditor) {
+		TriangleState s = state();
+		if (s.outgoing instanceof OrientedNeighborsSignal) {
+			Option<Object> sourceId = new Some<Object>(id());
+			for (int neighbor : s.higherNeighbors) {
+				graphEditor.sendSignal(s.outgoing, neighbor, sourceId);
+			}
+		} else {
+			super.sendSignals(graphEditor);
+		}
+	}
+
+	@Override
+	public TriangleState collect(TriangleState oldState,
+			Iterable<Object> uncollectedSignals) {
+		TriangleState s = new TriangleState(oldState);
+		boolean receivedDegrees = false;
+		boolean foundTriangles = false;
+		int degree = outgoingEdges().size();
+		int higherCount = 0;
+		int[] higher = null;
+		for (Object signal : uncollectedSignals) {
+			if (signal instanceof DegreeSignal) {
+				DegreeSignal d = (DegreeSignal) signal;
+				if (!receivedDegrees) {
+					receivedDegrees = true;
+					s.neighbors = neighborIds();
+					higher = new int[degree];
+				}
+				if (Arrays.binarySearch(s.neighbors, d.id) < 0) {
+					s.missingReverseEdges++;
+				} else if (d.degree > degree
+						|| (d.degree == degree && d.id > id())) {
+					higher[higherCount++] = d.id;
+				}
+			} else if (signal instanceof OrientedNeighborsSignal) {
+				foundTriangles |= countTriangles(s,
+						(OrientedNeighborsSignal) signal);
+			} else {
+				s.triangles += (Integer) signal;
+			}
+		}
+		if (receivedDegrees) {
+			s.credits = new int[s.neighbors.length];
+			int[] higherNeighbors = Arrays.copyOf(higher, higherCount);
+			Arrays.sort(higherNeighbors);
+			s.higherNeighbors = higherNeighbors;
+			if (higherCount > 0) {
+				s.outgoing = new OrientedNeighborsSignal(id(), higherNeighbors);
+			}
+		} else if (foundTriangles) {
+			s.outgoing = CREDITS;
+		}
+		return s;
+	}
+
+	/**
+	 * Merges the higher neighbors of a lower neighbor u with the own higher
+	 * neighbors. Every common neighbor w closes a triangle (u, this, w).
+	 * 
+	 * @return true if at least one triangle was found.
+	 */
+	private boolean countTriangles(TriangleState s,
+			OrientedNeighborsSignal signal) {
+		if (Arrays.binarySearch(signal.higherNeighbors, id()) < 0) {
+			return false;
+		}
+		int[] a = signal.higherNeighbors;
+		int[] b = s.higherNeighbors;
+		int i = 0;
+		int j = 0;
+		int found = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				s.credits[Arrays.binarySearch(s.neighbors, a[i])]++;
+				found++;
+				i++;
+				j++;
+			}
+		}
+		if (found > 0) {
+			s.triangles += found;
+			s.credits[Arrays.binarySearch(s.neighbors, signal.id)] += found;
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	private int[] neighborIds() {
+		if (outgoingEdges().isEmpty()) {
+			return NO_NEIGHBORS;
+		}
+		int[] ids = new int[outgoingEdges().size()];
+		int i = 0;
+		for (Object targetId : outgoingEdges().keySet()) {
+			ids[i++] = (Integer) targetId;
+		}
+		Arrays.sort(ids);
+		return ids;
+	}
+
+	@Override
+	public TriangleState resetState() {
+		TriangleState old = state();
+		if (old.outgoing == null) {
+			return old;
+		}
+		TriangleState s = new TriangleState(old);
+		s.outgoing = null;
+		return s;
+	}
+
+	@Override
+	public double scoreSignal() {
+		if (state().outgoing != null) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+}
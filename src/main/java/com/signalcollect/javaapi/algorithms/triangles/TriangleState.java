@@ -0,0 +1,102 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.algorithms.triangles;
+
+import java.io.Serializable;
+
+/**
+ * State of a vertex in the triangle counting.
+ */
+@SuppressWarnings("serial")
+public class TriangleState implements Serializable {
+
+	/**
+	 * Sorted ids of all neighbors.
+	 */
+	int[] neighbors;
+
+	/**
+	 * Sorted ids of the neighbors that come after this vertex in the degree
+	 * order.
+	 */
+	int[] higherNeighbors;
+
+	/**
+	 * Number of triangles found at this vertex that each neighbor is part of,
+	 * parallel to `neighbors`.
+	 */
+	int[] credits;
+
+	long triangles = 0;
+
+	/**
+	 * Number of received edges without a reverse edge, which are ignored.
+	 */
+	int missingReverseEdges = 0;
+
+	/**
+	 * Signal for the next signal operation, or null if there is nothing to
+	 * send. The credits are sent as one count per target.
+	 */
+	Object outgoing;
+
+	TriangleState() {
+	}
+
+	/**
+	 * Copy of `other` with a copy of its credits, the neighbor arrays are
+	 * never modified and shared.
+	 */
+	TriangleState(TriangleState other) {
+		neighbors = other.neighbors;
+		higherNeighbors = other.higherNeighbors;
+		credits = other.credits == null ? null : other.credits.clone();
+		triangles = other.triangles;
+		missingReverseEdges = other.missingReverseEdges;
+		outgoing = other.outgoing;
+	}
+
+	/**
+	 * @return the number of triangles this vertex is part of.
+	 */
+	public long getTriangles() {
+		return triangles;
+	}
+
+	/**
+	 * @return the local clustering coefficient: the fraction of pairs of
+	 *         neighbors that are connected.
+	 */
+	public double getClusteringCoefficient() {
+		int degree = neighbors == null ? 0 : neighbors.length;
+		if (degree < 2) {
+			return 0.0;
+		} else {
+			return 2.0 * triangles / ((double) degree * (degree - 1));
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "triangles: " + triangles + ", clustering coefficient: "
+				+ getClusteringCoefficient();
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.generators;
+
+/**
+ * Generates Barabasi-Albert preferential attachment graphs with the
+ * parallel copy model: vertex v adds `edgesPerVertex` edges, and edge i links
+ * to a uniformly chosen endpoint of the edges before it, which makes the
+ * probability of a target proportional to its degree.
+ * 
+ * The endpoint that edge i copies is derived from a hash of the seed and i.
+ * If it is the target of an earlier edge, that target is computed the same
+ * way, so every edge is computed independently of all others and the edges
+ * are generated in parallel without shared state. Undirected graphs get both
+ * directions of every edge, self loops are dropped.
+ */
+public class BarabasiAlbertGenerator extends GraphGenerator {
+
+	private final int numberOfVertices;
+	private final int edgesPerVertex;
+	private final boolean directed;
+
+	public BarabasiAlbertGenerator(int numberOfVertices, int edgesPerVertex,
+			boolean directed, long seed) {
+		super(seed);
+		if (edgesPerVertex < 1) {
+			throw new IllegalArgumentException(
+					"Every vertex has to add at least one edge.");
+		}
+		this.numberOfVertices = numberOfVertices;
+		this.edgesPerVertex = edgesPerVertex;
+		this.directed = directed;
+	}
+
+	public int numberOfVertices() {
+		return numberOfVertices;
+	}
+
+	protected void generate(int partition, int partitions, EdgeSink sink)
+			throws InterruptedException {
+		long numberOfEdges = (long) numberOfVertices * edgesPerVertex;
+		long firstEdge = rangeStart(numberOfEdges, partition, partitions);
+		long endEdge = rangeStart(numberOfEdges, partition + 1, partitions);
+		for (long edge = firstEdge; edge < endEdge; edge++) {
+			int source = sourceOf(edge);
+			int target = targetOf(edge);
+			if (source != target) {
+				sink.emit(source, target);
+				if (!directed) {
+					sink.emit(target, source);
+				}
+			}
+		}
+	}
+
+	private int sourceOf(long edge) {
+		return (int) (edge / edgesPerVertex);
+	}
+
+	/**
+	 * Follows the copied positions in the edge list back until a source
+	 * position is reached, the first edge loops on vertex 0.
+	 */
+	private int targetOf(long edge) {
+		while (edge > 0) {
+			long position = (hash(seed, edge) >>> 1) % (2 * edge);
+			if (position % 2 == 0) {
+				return sourceOf(position / 2);
+			}
+			edge = position / 2;
+		}
+		return 0;
+	}
+
+}
@@ -0,0 +1,35 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.generators;
+
+import com.signalcollect.Edge;
+
+/**
+ * Creates the edges of a generated graph.
+ */
+public abstract class EdgeFactory {
+
+	/**
+	 * @return a new edge from the vertex with id `sourceId` to the vertex
+	 *         with id `targetId`, it is added to the source vertex.
+	 */
+	public abstract Edge<?> createEdge(int sourceId, int targetId);
+
+}
@@ -0,0 +1,97 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.generators;
+
+import java.util.Random;
+
+/**
+ * Generates G(n, p) random graphs in which every possible edge exists
+ * independently with probability p. Instead of drawing a random number for
+ * every pair of vertices the generator skips ahead by geometrically
+ * distributed gaps, so the work is proportional to the number of edges. The
+ * gaps of every source vertex are drawn from a generator that is seeded with
+ * a hash of the seed and the source id.
+ * 
+ * Undirected graphs get both directions of every edge, directed graphs have no
+ * self loops.
+ */
+public class ErdosRenyiGenerator extends GraphGenerator {
+
+	private final int numberOfVertices;
+	private final double p;
+	private final boolean directed;
+
+	public ErdosRenyiGenerator(int numberOfVertices, double p,
+			boolean directed, long seed) {
+		super(seed);
+		if (p < 0 || p > 1) {
+			throw new IllegalArgumentException(
+					"The edge probability has to be between 0 and 1, was " + p
+							+ ".");
+		}
+		this.numberOfVertices = numberOfVertices;
+		this.p = p;
+		this.directed = directed;
+	}
+
+	public int numberOfVertices() {
+		return numberOfVertices;
+	}
+
+	/**
+	 * Every partition handles the candidate targets of a range of source
+	 * vertices.
+	 */
+	protected void generate(int partition, int partitions, EdgeSink sink)
+			throws InterruptedException {
+		if (p == 0) {
+			return;
+		}
+		Random random = new Random();
+		double logOfMiss = Math.log(1 - p);
+		int firstSource = (int) rangeStart(numberOfVertices, partition,
+				partitions);
+		int endSource = (int) rangeStart(numberOfVertices, partition + 1,
+				partitions);
+		for (int source = firstSource; source < endSource; source++) {
+			random.setSeed(hash(seed, source));
+			// undirected graphs only consider the targets above the source
+			long target = directed ? -1 : source;
+			while (true) {
+				if (p < 1) {
+					double r = 1 - random.nextDouble();
+					target += 1 + (long) Math.floor(Math.log(r) / logOfMiss);
+				} else {
+					target++;
+				}
+				if (target >= numberOfVertices) {
+					break;
+				}
+				if (target != source) {
+					sink.emit(source, (int) target);
+					if (!directed) {
+						sink.emit((int) target, source);
+					}
+				}
+			}
+		}
+	}
+
+}
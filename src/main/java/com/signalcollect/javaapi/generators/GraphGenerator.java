@@ -0,0 +1,226 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.generators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.signalcollect.javaapi.Graph;
+
+/**
+ * Base class for generators of synthetic graphs with integer vertex ids from
+ * 0 to `numberOfVertices() - 1`.
+ * 
+ * The edges are generated in parallel partitions. The random choices of every
+ * edge or source vertex are derived from a hash of the seed and its index, so
+ * the same seed always yields the same graph and the number of partitions
+ * only splits the work. The partitions emit their edges in
+ * batches of primitive int pairs to a single loading thread, which bounds the
+ * memory used for edges that were generated but not loaded yet. The loading
+ * thread adds the edges of a batch to the graph one `addEdge` call at a time.
+ */
+public abstract class GraphGenerator {
+
+	protected final long seed;
+	private int partitions = Runtime.getRuntime().availableProcessors();
+	private int batchSize = 10000;
+
+	protected GraphGenerator(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Sets the number of partitions the edges are generated in, by default
+	 * the number of available processors. Does not change the graph.
+	 */
+	public GraphGenerator withPartitions(int partitions) {
+		if (partitions < 1) {
+			throw new IllegalArgumentException(
+					"There has to be at least one partition.");
+		}
+		this.partitions = partitions;
+		return this;
+	}
+
+	/**
+	 * Sets the number of edges per batch that is handed to the loading thread,
+	 * which still adds them to the graph one by one.
+	 */
+	public GraphGenerator withBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException(
+					"A batch has to hold at least one edge.");
+		}
+		this.batchSize = batchSize;
+		return this;
+	}
+
+	public int partitions() {
+		return partitions;
+	}
+
+	/**
+	 * @return the number of vertices of the generated graph.
+	 */
+	public abstract int numberOfVertices();
+
+	/**
+	 * Generates the edges of partition `partition` of `partitions`.
+	 */
+	protected abstract void generate(int partition, int partitions,
+			EdgeSink sink) throws InterruptedException;
+
+	/**
+	 * Adds all vertices and the generated edges to `graph`.
+	 * 
+	 * @return the number of edges that were generated. This includes
+	 *         duplicates and self-loops, which the graph may reject.
+	 */
+	public long loadInto(Graph graph, VertexFactory vertexFactory,
+			final EdgeFactory edgeFactory) {
+		final BlockingQueue<int[]> batches = new ArrayBlockingQueue<int[]>(
+				2 * partitions);
+		ExecutorService executor = Executors.newFixedThreadPool(partitions);
+		List<Future<Object>> results = new ArrayList<Future<Object>>();
+		for (int p = 0; p < partitions; p++) {
+			final int partition = p;
+			results.add(executor.submit(new Callable<Object>() {
+				public Object call() throws Exception {
+					EdgeSink sink = new EdgeSink(batches, batchSize);
+					try {
+						generate(partition, partitions, sink);
+						sink.flush();
+					} finally {
+						batches.put(END_OF_PARTITION);
+					}
+					return null;
+				}
+			}));
+		}
+		try {
+			for (int id = 0; id < numberOfVertices(); id++) {
+				graph.addVertex(vertexFactory.createVertex(id));
+			}
+			long edges = 0;
+			int finishedPartitions = 0;
+			while (finishedPartitions < partitions) {
+				int[] batch = batches.take();
+				if (batch == END_OF_PARTITION) {
+					finishedPartitions++;
+				} else {
+					for (int i = 0; i < batch.length; i += 2) {
+						graph.addEdge(batch[i],
+								edgeFactory.createEdge(batch[i], batch[i + 1]));
+					}
+					edges += batch.length / 2;
+				}
+			}
+			for (Future<Object> result : results) {
+				result.get();
+			}
+			return edges;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while loading the graph.",
+					e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Edge generation failed.", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static final int[] END_OF_PARTITION = new int[0];
+
+	/**
+	 * Collects the edges of a partition into batches.
+	 */
+	protected static class EdgeSink {
+
+		private final BlockingQueue<int[]> batches;
+		private final int batchSize;
+		private int[] batch;
+		private int size = 0;
+
+		EdgeSink(BlockingQueue<int[]> batches, int batchSize) {
+			this.batches = batches;
+			this.batchSize = batchSize;
+			this.batch = new int[2 * batchSize];
+		}
+
+		public void emit(int sourceId, int targetId)
+				throws InterruptedException {
+			batch[size++] = sourceId;
+			batch[size++] = targetId;
+			if (size == batch.length) {
+				batches.put(batch);
+				batch = new int[2 * batchSize];
+				size = 0;
+			}
+		}
+
+		void flush() throws InterruptedException {
+			if (size > 0) {
+				int[] last = new int[size];
+				System.arraycopy(batch, 0, last, 0, size);
+				batches.put(last);
+				size = 0;
+			}
+		}
+
+	}
+
+	/**
+	 * @return the first index of partition `partition` when `count` items are
+	 *         split into `partitions` ranges of almost equal size.
+	 */
+	protected static long rangeStart(long count, int partition, int partitions) {
+		return count / partitions * partition
+				+ Math.min(partition, count % partitions);
+	}
+
+	/**
+	 * @return a well distributed 64 bit hash of `value` under `seed`.
+	 */
+	protected static long hash(long seed, long value) {
+		long h = value * 0x9e3779b97f4a7c15l + seed;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdl;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53l;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	/**
+	 * @return a uniformly distributed double in [0, 1) derived from `hash`.
+	 */
+	protected static double toUnitInterval(long hash) {
+		return (hash >>> 11) * 0x1.0p-53;
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.generators;
+
+/**
+ * Generates 2D or 3D grids in which every vertex is connected to its direct
+ * neighbors along each axis, in both directions. The vertex at (x, y, z) has
+ * the id x + width * (y + height * z). Grids have no randomness, the seed is
+ * ignored.
+ */
+public class GridGenerator extends GraphGenerator {
+
+	private final int width;
+	private final int height;
+	private final int depth;
+
+	/**
+	 * Creates a 2D grid.
+	 */
+	public GridGenerator(int width, int height) {
+		this(width, height, 1);
+	}
+
+	/**
+	 * Creates a 3D grid, a depth of 1 yields a 2D grid.
+	 */
+	public GridGenerator(int width, int height, int depth) {
+		super(0);
+		if ((long) width * height * depth > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(
+					"The grid has more vertices than there are int ids.");
+		}
+		this.width = width;
+		this.height = height;
+		this.depth = depth;
+	}
+
+	public int numberOfVertices() {
+		return width * height * depth;
+	}
+
+	/**
+	 * Every partition handles a range of rows.
+	 */
+	protected void generate(int partition, int partitions, EdgeSink sink)
+			throws InterruptedException {
+		int rows = height * depth;
+		int firstRow = (int) rangeStart(rows, partition, partitions);
+		int endRow = (int) rangeStart(rows, partition + 1, partitions);
+		for (int row = firstRow; row < endRow; row++) {
+			int y = row % height;
+			int z = row / height;
+			for (int x = 0; x < width; x++) {
+				int id = x + width * row;
+				if (x + 1 < width) {
+					link(id, id + 1, sink);
+				}
+				if (y + 1 < height) {
+					link(id, id + width, sink);
+				}
+				if (z + 1 < depth) {
+					link(id, id + width * height, sink);
+				}
+			}
+		}
+	}
+
+	private void link(int a, int b, EdgeSink sink) throws InterruptedException {
+		sink.emit(a, b);
+		sink.emit(b, a);
+	}
+
+}
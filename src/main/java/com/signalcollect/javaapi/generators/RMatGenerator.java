@@ -0,0 +1,98 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.generators;
+
+/**
+ * Generates directed R-MAT graphs, a special case of Kronecker graphs with a
+ * skewed degree distribution and community structure. Every edge is placed by
+ * recursively choosing one of the four quadrants of the adjacency matrix with
+ * the probabilities a, b, c and 1 - a - b - c. The choices of edge i are
+ * derived from a hash of the seed and i. Duplicate edges and self loops are
+ * kept in the generated edge list.
+ */
+public class RMatGenerator extends GraphGenerator {
+
+	private final int scale;
+	private final long numberOfEdges;
+	private final double a;
+	private final double b;
+	private final double c;
+
+	/**
+	 * @param scale
+	 *            the graph has 2^scale vertices.
+	 * @param edgeFactor
+	 *            the graph has edgeFactor * 2^scale edges.
+	 */
+	public RMatGenerator(int scale, int edgeFactor, double a, double b,
+			double c, long seed) {
+		super(seed);
+		if (scale < 1 || scale > 30) {
+			throw new IllegalArgumentException(
+					"The scale has to be between 1 and 30, was " + scale + ".");
+		}
+		if (a < 0 || b < 0 || c < 0 || a + b + c > 1) {
+			throw new IllegalArgumentException(
+					"The quadrant probabilities have to be non-negative and a + b + c must not exceed 1.");
+		}
+		this.scale = scale;
+		this.numberOfEdges = (long) edgeFactor << scale;
+		this.a = a;
+		this.b = b;
+		this.c = c;
+	}
+
+	/**
+	 * Uses the Graph 500 probabilities a = 0.57, b = 0.19 and c = 0.19.
+	 */
+	public RMatGenerator(int scale, int edgeFactor, long seed) {
+		this(scale, edgeFactor, 0.57, 0.19, 0.19, seed);
+	}
+
+	public int numberOfVertices() {
+		return 1 << scale;
+	}
+
+	protected void generate(int partition, int partitions, EdgeSink sink)
+			throws InterruptedException {
+		long firstEdge = rangeStart(numberOfEdges, partition, partitions);
+		long endEdge = rangeStart(numberOfEdges, partition + 1, partitions);
+		double ab = a + b;
+		double abc = a + b + c;
+		for (long e = firstEdge; e < endEdge; e++) {
+			long edgeHash = hash(seed, e);
+			int source = 0;
+			int target = 0;
+			for (int bit = scale - 1; bit >= 0; bit--) {
+				double quadrant = toUnitInterval(hash(edgeHash, bit));
+				if (quadrant >= abc) {
+					source |= 1 << bit;
+					target |= 1 << bit;
+				} else if (quadrant >= ab) {
+					source |= 1 << bit;
+				} else if (quadrant >= a) {
+					target |= 1 << bit;
+				}
+			}
+			sink.emit(source, target);
+		}
+	}
+
+}
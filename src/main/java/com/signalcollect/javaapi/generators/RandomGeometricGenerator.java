@@ -0,0 +1,132 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.generators;
+
+/**
+ * Generates random geometric graphs: the vertices are placed uniformly in the
+ * unit square and two vertices are connected in both directions if their
+ * distance is at most `radius`.
+ * 
+ * The coordinates are derived from hashes of the vertex ids, so they do not
+ * depend on the partitioning. The points are sorted into cells of width
+ * `radius`, which limits the candidate neighbors of a point to the points in
+ * the 3x3 cells around it. Each partition handles a range of cell rows.
+ */
+public class RandomGeometricGenerator extends GraphGenerator {
+
+	private final int numberOfVertices;
+	private final double radius;
+
+	private int cellsPerSide;
+	private int[] cellStarts;
+	private int[] pointsByCell;
+
+	public RandomGeometricGenerator(int numberOfVertices, double radius,
+			long seed) {
+		super(seed);
+		if (radius <= 0 || radius > 1) {
+			throw new IllegalArgumentException(
+					"The radius has to be in (0, 1], was " + radius + ".");
+		}
+		this.numberOfVertices = numberOfVertices;
+		this.radius = radius;
+	}
+
+	public int numberOfVertices() {
+		return numberOfVertices;
+	}
+
+	private double x(int id) {
+		return toUnitInterval(hash(seed, 2l * id));
+	}
+
+	private double y(int id) {
+		return toUnitInterval(hash(seed, 2l * id + 1));
+	}
+
+	private int cell(double coordinate) {
+		return Math.min(cellsPerSide - 1, (int) (coordinate * cellsPerSide));
+	}
+
+	/**
+	 * Sorts the points into cells with a counting sort, done once before the
+	 * partitions start.
+	 */
+	private synchronized void buildCells() {
+		if (cellStarts != null) {
+			return;
+		}
+		cellsPerSide = (int) Math.max(1, Math.min(1 / radius,
+				Math.sqrt(numberOfVertices) + 1));
+		int[] starts = new int[cellsPerSide * cellsPerSide + 1];
+		for (int id = 0; id < numberOfVertices; id++) {
+			starts[cellOf(id) + 1]++;
+		}
+		for (int c = 0; c < cellsPerSide * cellsPerSide; c++) {
+			starts[c + 1] += starts[c];
+		}
+		int[] next = starts.clone();
+		int[] points = new int[numberOfVertices];
+		for (int id = 0; id < numberOfVertices; id++) {
+			points[next[cellOf(id)]++] = id;
+		}
+		pointsByCell = points;
+		cellStarts = starts;
+	}
+
+	private int cellOf(int id) {
+		return cell(y(id)) * cellsPerSide + cell(x(id));
+	}
+
+	protected void generate(int partition, int partitions, EdgeSink sink)
+			throws InterruptedException {
+		buildCells();
+		double squaredRadius = radius * radius;
+		int firstRow = (int) rangeStart(cellsPerSide, partition, partitions);
+		int endRow = (int) rangeStart(cellsPerSide, partition + 1, partitions);
+		for (int row = firstRow; row < endRow; row++) {
+			for (int column = 0; column < cellsPerSide; column++) {
+				int cell = row * cellsPerSide + column;
+				for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+					int source = pointsByCell[i];
+					double sourceX = x(source);
+					double sourceY = y(source);
+					for (int r = Math.max(0, row - 1); r <= Math.min(
+							cellsPerSide - 1, row + 1); r++) {
+						for (int c = Math.max(0, column - 1); c <= Math.min(
+								cellsPerSide - 1, column + 1); c++) {
+							int neighborCell = r * cellsPerSide + c;
+							for (int j = cellStarts[neighborCell]; j < cellStarts[neighborCell + 1]; j++) {
+								int target = pointsByCell[j];
+								double dx = x(target) - sourceX;
+								double dy = y(target) - sourceY;
+								if (target != source
+										&& dx * dx + dy * dy <= squaredRadius) {
+									sink.emit(source, target);
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes `Integer` values in 4 bytes.
+ */
+public class IntCodec implements StateCodec<Integer> {
+
+	public int size() {
+		return 4;
+	}
+
+	public void encode(Integer value, ByteBuffer buffer, int offset) {
+		buffer.putInt(offset, value);
+	}
+
+	public Integer decode(ByteBuffer buffer, int offset) {
+		return buffer.getInt(offset);
+	}
+
+}
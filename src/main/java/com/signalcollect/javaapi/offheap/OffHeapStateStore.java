@@ -0,0 +1,225 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stores the states and the combined pending signals of `OffHeapVertex`
+ * instances in direct `ByteBuffer` segments outside of the Java heap. Every
+ * vertex owns one fixed size slot, which holds the encoded state, the encoded
+ * signal and a flags byte:
+ * 
+ * [state: stateCodec.size()][signal: signalCodec.size()][flags: 1]
+ * 
+ * Slots are rounded up to multiples of 8 bytes, so that primitive fields of
+ * the states are aligned. Segments are allocated when they are first needed
+ * and never freed while the store is reachable, slots that are freed are
+ * reused by later allocations.
+ * 
+ * All accesses use absolute gets and puts, so workers can concurrently access
+ * the slots of different vertices.
+ * 
+ * @note Only for graphs that are executed in the local JVM, the store is not
+ *       serializable.
+ */
+public class OffHeapStateStore<State, Signal> {
+
+	/**
+	 * Set while the slot holds a signal that was not collected yet.
+	 */
+	static final byte SIGNAL_PENDING = 1;
+
+	/**
+	 * Set while the state or the outgoing edges changed since the last
+	 * signal operation.
+	 */
+	static final byte SIGNAL_REQUIRED = 2;
+
+	private final StateCodec<State> stateCodec;
+	private final StateCodec<Signal> signalCodec;
+	private final int signalOffset;
+	private final int flagsOffset;
+	private final int slotSize;
+	private final int slotsPerSegment;
+
+	private final AtomicInteger allocatedSlots = new AtomicInteger(0);
+	private volatile ByteBuffer[] segments = new ByteBuffer[0];
+
+	/**
+	 * Stack of the freed slots, guarded by `this`.
+	 */
+	private int[] freeSlots = new int[16];
+	private volatile int freeCount = 0;
+
+	/**
+	 * @param slotsPerSegment
+	 *            number of slots in each direct buffer, all slots of a segment
+	 *            have to fit into 2 GB.
+	 */
+	public OffHeapStateStore(StateCodec<State> stateCodec,
+			StateCodec<Signal> signalCodec, int slotsPerSegment) {
+		this.stateCodec = stateCodec;
+		this.signalCodec = signalCodec;
+		this.signalOffset = stateCodec.size();
+		this.flagsOffset = signalOffset + signalCodec.size();
+		this.slotSize = (flagsOffset + 1 + 7) & ~7;
+		if (slotsPerSegment < 1
+				|| (long) slotsPerSegment * slotSize > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("A segment has to hold between 1 and "
+					+ Integer.MAX_VALUE / slotSize + " slots of " + slotSize
+					+ " bytes.");
+		}
+		this.slotsPerSegment = slotsPerSegment;
+	}
+
+	/**
+	 * Creates a store with segments of 65536 slots.
+	 */
+	public OffHeapStateStore(StateCodec<State> stateCodec,
+			StateCodec<Signal> signalCodec) {
+		this(stateCodec, signalCodec, 1 << 16);
+	}
+
+	/**
+	 * Reserves a slot, a freed one if there is any, and initializes it with
+	 * `initialState` and no pending signal. Thread-safe.
+	 * 
+	 * @return the index of the slot.
+	 */
+	public int allocate(State initialState) {
+		int slot = freeCount > 0 ? reuseSlot() : -1;
+		if (slot < 0) {
+			slot = allocatedSlots.getAndIncrement();
+			if (slot < 0) {
+				throw new IllegalStateException("The store is full.");
+			}
+			int segment = slot / slotsPerSegment;
+			if (segment >= segments.length) {
+				addSegments(segment + 1);
+			}
+		}
+		setState(slot, initialState);
+		setFlags(slot, SIGNAL_REQUIRED);
+		return slot;
+	}
+
+	private synchronized int reuseSlot() {
+		if (freeCount > 0) {
+			freeCount--;
+			return freeSlots[freeCount];
+		} else {
+			return -1;
+		}
+	}
+
+	/**
+	 * Releases `slot` for reuse by a later allocation. The slot must not be
+	 * accessed afterwards. Thread-safe.
+	 */
+	public synchronized void free(int slot) {
+		if (freeCount == freeSlots.length) {
+			int[] extended = new int[freeSlots.length * 2];
+			System.arraycopy(freeSlots, 0, extended, 0, freeCount);
+			freeSlots = extended;
+		}
+		setFlags(slot, (byte) 0);
+		freeSlots[freeCount] = slot;
+		freeCount++;
+	}
+
+	private synchronized void addSegments(int count) {
+		ByteBuffer[] current = segments;
+		if (count > current.length) {
+			ByteBuffer[] extended = new ByteBuffer[count];
+			System.arraycopy(current, 0, extended, 0, current.length);
+			for (int i = current.length; i < count; i++) {
+				extended[i] = ByteBuffer.allocateDirect(
+						slotsPerSegment * slotSize).order(
+						ByteOrder.nativeOrder());
+			}
+			segments = extended;
+		}
+	}
+
+	/**
+	 * @return the segment that contains `slot`, for direct access to the
+	 *         primitive fields of a state at `offset(slot)`.
+	 */
+	public ByteBuffer segment(int slot) {
+		return segments[slot / slotsPerSegment];
+	}
+
+	/**
+	 * @return the offset of the encoded state of `slot` in its segment.
+	 */
+	public int offset(int slot) {
+		return (slot % slotsPerSegment) * slotSize;
+	}
+
+	public State state(int slot) {
+		return stateCodec.decode(segment(slot), offset(slot));
+	}
+
+	public void setState(int slot, State state) {
+		stateCodec.encode(state, segment(slot), offset(slot));
+	}
+
+	public Signal signal(int slot) {
+		return signalCodec.decode(segment(slot), offset(slot) + signalOffset);
+	}
+
+	public void setSignal(int slot, Signal signal) {
+		signalCodec.encode(signal, segment(slot), offset(slot) + signalOffset);
+	}
+
+	byte flags(int slot) {
+		return segment(slot).get(offset(slot) + flagsOffset);
+	}
+
+	void setFlags(int slot, byte flags) {
+		segment(slot).put(offset(slot) + flagsOffset, flags);
+	}
+
+	/**
+	 * @return the number of allocated slots that are not freed.
+	 */
+	public int size() {
+		return Math.min(allocatedSlots.get(), segments.length * slotsPerSegment)
+				- freeCount;
+	}
+
+	/**
+	 * @return the bytes of one slot.
+	 */
+	public int slotSize() {
+		return slotSize;
+	}
+
+	/**
+	 * @return the bytes of all allocated segments.
+	 */
+	public long offHeapBytes() {
+		return (long) segments.length * slotsPerSegment * slotSize;
+	}
+
+}
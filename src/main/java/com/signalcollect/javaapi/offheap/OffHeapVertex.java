@@ -0,0 +1,278 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.offheap;
+
+import scala.Option;
+import scala.Some;
+
+import com.signalcollect.AbstractVertex;
+import com.signalcollect.Edge;
+import com.signalcollect.GraphEditor;
+import com.signalcollect.javaapi.ContextAwareVertex;
+import com.signalcollect.javaapi.GlobalAggregator;
+import com.signalcollect.javaapi.Instrumentation;
+import com.signalcollect.javaapi.InstrumentedVertex;
+import com.signalcollect.javaapi.VertexContext;
+
+/**
+ * Vertex that is a thin view on a slot of an `OffHeapStateStore`: the vertex
+ * object only holds its id, the store and the slot index, its state and its
+ * pending signal are encoded outside of the Java heap.
+ * 
+ * Instead of keeping every received signal, signals are combined into one
+ * pending signal with `combine` as soon as they are delivered, e.g. by
+ * taking the minimum or the sum. `collect` then computes the new state from
+ * the old state and the combined signal. A vertex signals when its state
+ * changed, according to `equals` of the decoded states, or when edges were
+ * added since its last signal operation.
+ * 
+ * Subclasses that want to avoid decoding the states into heap objects can
+ * read and write the primitive fields of a slot directly through
+ * `store.segment(slot)` and `store.offset(slot)`.
+ * 
+ * The slot is allocated when the graph initializes the vertex and freed when
+ * the vertex is removed, so vertices that the graph rejects because a vertex
+ * with the same id exists never hold a slot. Until then the initial state is
+ * kept on the heap. Metrics, profiling, execution events, global aggregators
+ * and state change tracking work as for `DataGraphVertex`, priority ordered
+ * executions treat all off-heap vertices as having the same priority.
+ */
+@SuppressWarnings("serial")
+public abstract class OffHeapVertex<Id, State, Signal> extends
+		AbstractVertex<Object, State> implements ContextAwareVertex,
+		InstrumentedVertex {
+
+	protected final Id id;
+	protected final OffHeapStateStore<State, Signal> store;
+
+	/**
+	 * Index of the slot in `store`, -1 while the vertex is not part of a
+	 * graph.
+	 */
+	protected int slot = -1;
+
+	private State initialState;
+
+	/**
+	 * @param store
+	 *            store that holds the state, usually shared by all vertices
+	 *            of the same class.
+	 */
+	public OffHeapVertex(Id id, State initialState,
+			OffHeapStateStore<State, Signal> store) {
+		this.id = id;
+		this.store = store;
+		this.initialState = initialState;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public void afterInitialization(GraphEditor graphEditor) {
+		if (slot < 0) {
+			slot = store.allocate(initialState);
+			initialState = null;
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public void beforeRemoval(GraphEditor graphEditor) {
+		if (slot >= 0) {
+			initialState = state();
+			store.free(slot);
+			slot = -1;
+		}
+	}
+
+	public Id id() {
+		return id;
+	}
+
+	public State state() {
+		if (slot < 0) {
+			return initialState;
+		} else {
+			return store.state(slot);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public void setState(Object state) {
+		if (slot < 0) {
+			initialState = (State) state;
+		} else {
+			store.setState(slot, (State) state);
+			setFlag(OffHeapStateStore.SIGNAL_REQUIRED);
+		}
+	}
+
+	/**
+	 * Context of the current execution, only available in the local JVM.
+	 */
+	transient VertexContext context;
+
+	public void setContext(VertexContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * Instrumentation of the graph, null if it was built without.
+	 */
+	transient Instrumentation instrumentation;
+
+	public void setInstrumentation(Instrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+	}
+
+	/**
+	 * Returns the global aggregator registered under `name`. Contributions
+	 * made in `collect` become visible to all vertices after the next merge,
+	 * until then `value()` returns the result of the previous merge.
+	 * 
+	 * @throws IllegalStateException
+	 *             if the graph is not executed with global aggregators.
+	 */
+	protected <T> GlobalAggregator<T> aggregator(String name) {
+		return VertexContext.aggregator(context, name);
+	}
+
+	/**
+	 * Combines two signals into one, e.g. by taking the minimum. Has to be
+	 * associative and commutative, because the order in which signals are
+	 * delivered is not defined.
+	 */
+	protected abstract Signal combine(Signal pendingSignal, Signal signal);
+
+	/**
+	 * Calculates the new vertex state from the old state and the combination
+	 * of all signals that were delivered since the last collect.
+	 * 
+	 * @return The new vertex state.
+	 */
+	public abstract State collect(State oldState, Signal combinedSignal);
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public boolean deliverSignal(Object signal, Option sourceId) {
+		if (instrumentation == null) {
+			combineSignal((Signal) signal);
+		} else {
+			long start = instrumentation.deliveryStarted();
+			combineSignal((Signal) signal);
+			instrumentation.signalDelivered(this, start);
+		}
+		return false;
+	}
+
+	private void combineSignal(Signal signal) {
+		if (hasFlag(OffHeapStateStore.SIGNAL_PENDING)) {
+			store.setSignal(slot, combine(store.signal(slot), signal));
+		} else {
+			store.setSignal(slot, signal);
+			setFlag(OffHeapStateStore.SIGNAL_PENDING);
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public void executeCollectOperation(GraphEditor graphEditor) {
+		if (hasFlag(OffHeapStateStore.SIGNAL_PENDING)) {
+			long start = instrumentation == null ? 0 : instrumentation
+					.operationStarted();
+			clearFlag(OffHeapStateStore.SIGNAL_PENDING);
+			State oldState = state();
+			State newState = collect(oldState, store.signal(slot));
+			if (newState == null ? oldState != null : !newState
+					.equals(oldState)) {
+				setState(newState);
+				if (context != null) {
+					context.stateChanged(id, oldState, newState);
+				}
+			}
+			if (instrumentation != null) {
+				instrumentation.collectOperationFinished(this, start);
+			}
+		}
+	}
+
+	/**
+	 * Sends the signals of all outgoing edges. Unlike the default signal
+	 * operation this does not keep the last signaled state on the heap.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	public void executeSignalOperation(GraphEditor graphEditor) {
+		long start = instrumentation == null ? 0 : instrumentation
+				.operationStarted();
+		clearFlag(OffHeapStateStore.SIGNAL_REQUIRED);
+		Option<Object> sourceId = new Some<Object>(id);
+		for (Edge<?> edge : outgoingEdges().values()) {
+			graphEditor.sendSignal(edge.signal(this), edge.targetId(),
+					sourceId);
+		}
+		if (instrumentation != null) {
+			instrumentation.signalOperationFinished(this, start);
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public boolean addEdge(Edge e, GraphEditor graphEditor) {
+		boolean added = super.addEdge(e, graphEditor);
+		if (added && slot >= 0) {
+			setFlag(OffHeapStateStore.SIGNAL_REQUIRED);
+		}
+		return added;
+	}
+
+	public double scoreSignal() {
+		if (hasFlag(OffHeapStateStore.SIGNAL_REQUIRED)) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+	public double scoreCollect() {
+		if (hasFlag(OffHeapStateStore.SIGNAL_PENDING)) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+	private boolean hasFlag(byte flag) {
+		return (store.flags(slot) & flag) != 0;
+	}
+
+	private void setFlag(byte flag) {
+		store.setFlags(slot, (byte) (store.flags(slot) | flag));
+	}
+
+	private void clearFlag(byte flag) {
+		store.setFlags(slot, (byte) (store.flags(slot) & ~flag));
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(id=" + id + ", state="
+				+ state() + ")";
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes vertex states or signals into the fixed size slots of an
+ * `OffHeapStateStore`. Implementations are shared by all vertices of a store
+ * and are called concurrently by the workers, so they must not keep any
+ * mutable state.
+ */
+public interface StateCodec<Value> {
+
+	/**
+	 * @return the maximum number of bytes of an encoded value, the size of
+	 *         the slot that is reserved for it.
+	 */
+	int size();
+
+	/**
+	 * Writes `value` to `buffer` starting at `offset`, using absolute puts
+	 * only. Must not write more than `size()` bytes.
+	 */
+	void encode(Value value, ByteBuffer buffer, int offset);
+
+	/**
+	 * Reads the value that was encoded at `offset` of `buffer`, using
+	 * absolute gets only.
+	 */
+	Value decode(ByteBuffer buffer, int offset);
+
+}
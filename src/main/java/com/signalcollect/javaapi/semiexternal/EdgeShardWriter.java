@@ -0,0 +1,279 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.semiexternal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilenameFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Writes the edges of a graph with integer vertex ids from 0 to n - 1 into
+ * the sorted shards that are read by `ShardedEdgeStore`. Edges can be added in
+ * any order, they are sorted in runs of `edgesInMemory` edges that are
+ * spilled to disk and merged when the writer is closed, so the edges do not
+ * need to fit into memory. Duplicate edges are dropped.
+ * 
+ * Shard `i` holds the outgoing edges of the vertices from
+ * `i * verticesPerShard` to `(i + 1) * verticesPerShard - 1`, sorted by source
+ * and target id. Its layout, as big-endian ints, is:
+ * 
+ * [targets][offsets: verticesInShard + 1][firstVertex][verticesInShard]
+ * 
+ * Offset `j` is the index of the first target of vertex `firstVertex + j`.
+ * 
+ * The manifest file holds the number of shards, the vertices per shard and
+ * the number of vertices as big-endian ints. It is written last, so a store
+ * never reads the shards of an incomplete write.
+ */
+public class EdgeShardWriter {
+
+	static final String SHARD_PREFIX = "shard-";
+	static final String SHARD_SUFFIX = ".edges";
+	static final String MANIFEST = "shards.manifest";
+
+	private final File directory;
+	private final int verticesPerShard;
+	private final long[] buffer;
+	private int buffered = 0;
+	private final List<File> runs = new ArrayList<File>();
+	private int maxVertexId = -1;
+
+	/**
+	 * @param directory
+	 *            directory for the shards and the temporary runs, created if
+	 *            it does not exist.
+	 * @param verticesPerShard
+	 *            the source id range of a shard, the edges of a shard have to
+	 *            fit into 2 GB.
+	 * @param edgesInMemory
+	 *            number of edges that are sorted in memory before they are
+	 *            spilled to disk, 8 bytes each.
+	 */
+	public EdgeShardWriter(File directory, int verticesPerShard,
+			int edgesInMemory) throws IOException {
+		if (verticesPerShard < 1 || edgesInMemory < 1) {
+			throw new IllegalArgumentException(
+					"The number of vertices per shard and of edges in memory have to be positive.");
+		}
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Could not create the directory "
+					+ directory + ".");
+		}
+		this.directory = directory;
+		this.verticesPerShard = verticesPerShard;
+		this.buffer = new long[edgesInMemory];
+	}
+
+	/**
+	 * Creates a writer with shards of 1048576 vertices that sorts 16777216
+	 * edges at a time.
+	 */
+	public EdgeShardWriter(File directory) throws IOException {
+		this(directory, 1 << 20, 1 << 24);
+	}
+
+	public void addEdge(int sourceId, int targetId) throws IOException {
+		if (sourceId < 0 || targetId < 0) {
+			throw new IllegalArgumentException("Vertex ids have to be non-negative.");
+		}
+		maxVertexId = Math.max(maxVertexId, Math.max(sourceId, targetId));
+		if (buffered == buffer.length) {
+			spill();
+		}
+		buffer[buffered++] = ((long) sourceId << 32) | targetId;
+	}
+
+	private void spill() throws IOException {
+		Arrays.sort(buffer, 0, buffered);
+		File run = new File(directory, "run-" + runs.size() + ".tmp");
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+				new FileOutputStream(run), 1 << 16));
+		try {
+			for (int i = 0; i < buffered; i++) {
+				out.writeLong(buffer[i]);
+			}
+		} finally {
+			out.close();
+		}
+		runs.add(run);
+		buffered = 0;
+	}
+
+	/**
+	 * Merges the sorted runs into the shards and deletes the runs. Every
+	 * vertex id up to the largest added id gets a shard, also if it has no
+	 * outgoing edges. Replaces the shards and the manifest of an earlier
+	 * write into the same directory.
+	 */
+	public void close() throws IOException {
+		if (buffered > 0) {
+			spill();
+		}
+		deleteShards();
+		PriorityQueue<Run> queue = new PriorityQueue<Run>();
+		try {
+			for (File run : runs) {
+				Run r = new Run(run);
+				if (r.advance()) {
+					queue.add(r);
+				}
+			}
+			int shards = maxVertexId < 0 ? 0 : maxVertexId / verticesPerShard
+					+ 1;
+			long previous = -1;
+			for (int shard = 0; shard < shards; shard++) {
+				int firstVertex = shard * verticesPerShard;
+				int vertices = Math.min(verticesPerShard, maxVertexId + 1
+						- firstVertex);
+				int[] offsets = new int[vertices + 1];
+				int targets = 0;
+				DataOutputStream out = new DataOutputStream(
+						new BufferedOutputStream(new FileOutputStream(new File(
+								directory, SHARD_PREFIX + shard + SHARD_SUFFIX)),
+								1 << 16));
+				try {
+					int vertex = 0;
+					while (!queue.isEmpty()
+							&& (int) (queue.peek().edge >>> 32) < firstVertex
+									+ vertices) {
+						Run r = queue.poll();
+						long edge = r.edge;
+						if (r.advance()) {
+							queue.add(r);
+						}
+						if (edge == previous) {
+							continue;
+						}
+						previous = edge;
+						int source = (int) (edge >>> 32) - firstVertex;
+						while (vertex < source) {
+							offsets[++vertex] = targets;
+						}
+						if (targets >= (Integer.MAX_VALUE - 8) / 4 - vertices - 1) {
+							throw new IllegalStateException("Shard " + shard
+									+ " does not fit into 2 GB, use fewer vertices per shard.");
+						}
+						out.writeInt((int) edge);
+						targets++;
+					}
+					while (vertex < vertices) {
+						offsets[++vertex] = targets;
+					}
+					for (int offset : offsets) {
+						out.writeInt(offset);
+					}
+					out.writeInt(firstVertex);
+					out.writeInt(vertices);
+				} finally {
+					out.close();
+				}
+			}
+			DataOutputStream manifest = new DataOutputStream(
+					new FileOutputStream(new File(directory, MANIFEST)));
+			try {
+				manifest.writeInt(shards);
+				manifest.writeInt(verticesPerShard);
+				manifest.writeInt(maxVertexId + 1);
+			} finally {
+				manifest.close();
+			}
+		} finally {
+			for (Run r : queue) {
+				r.close();
+			}
+			for (File run : runs) {
+				run.delete();
+			}
+			runs.clear();
+		}
+	}
+
+	/**
+	 * Deletes the manifest and all shards in the directory, an earlier write
+	 * may have produced more shards than this one.
+	 */
+	private void deleteShards() throws IOException {
+		File manifest = new File(directory, MANIFEST);
+		if (manifest.exists() && !manifest.delete()) {
+			throw new IOException("Could not delete " + manifest + ".");
+		}
+		File[] shards = directory.listFiles(new FilenameFilter() {
+			public boolean accept(File dir, String name) {
+				return name.startsWith(SHARD_PREFIX)
+						&& name.endsWith(SHARD_SUFFIX);
+			}
+		});
+		if (shards != null) {
+			for (File shard : shards) {
+				if (!shard.delete()) {
+					throw new IOException("Could not delete " + shard + ".");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sorted run on disk, ordered by its current edge.
+	 */
+	private static class Run implements Comparable<Run> {
+
+		private final DataInputStream in;
+		long edge;
+
+		Run(File file) throws IOException {
+			in = new DataInputStream(new BufferedInputStream(
+					new FileInputStream(file), 1 << 16));
+		}
+
+		/**
+		 * @return false and closes the run if it has no more edges.
+		 */
+		boolean advance() throws IOException {
+			try {
+				edge = in.readLong();
+				return true;
+			} catch (EOFException e) {
+				close();
+				return false;
+			}
+		}
+
+		void close() throws IOException {
+			in.close();
+		}
+
+		public int compareTo(Run other) {
+			return edge < other.edge ? -1 : (edge == other.edge ? 0 : 1);
+		}
+
+	}
+
+}
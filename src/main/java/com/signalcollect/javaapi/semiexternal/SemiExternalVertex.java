@@ -0,0 +1,176 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.semiexternal;
+
+import java.util.ArrayList;
+
+import scala.Option;
+import scala.Some;
+
+import com.signalcollect.AbstractVertex;
+import com.signalcollect.Edge;
+import com.signalcollect.GraphEditor;
+
+/**
+ * Vertex for semi-external graphs: the state and the received signals are
+ * kept in memory, the outgoing edges are read from a `ShardedEdgeStore`
+ * whenever the vertex signals. No edges are added to the graph, the vertex
+ * ids are the integers of the store.
+ * 
+ * Like in `DataFlowVertex`, `collect` gets all signals that were received
+ * since the last collect. A vertex signals the same signal to all its
+ * targets, computed by `signal` from its state, whenever its state changed
+ * since the last signal operation.
+ * 
+ * @note Only for graphs that are executed in the local JVM.
+ */
+@SuppressWarnings("serial")
+public abstract class SemiExternalVertex<State, Signal> extends
+		AbstractVertex<Object, State> {
+
+	private final Integer id;
+	private State state;
+	private final ShardedEdgeStore edges;
+
+	private State signaledState = null;
+	private boolean signaled = false;
+
+	/**
+	 * Signals that have not been collected yet, reused after every collect.
+	 */
+	private final ArrayList<Signal> uncollectedSignals = new ArrayList<Signal>(
+			0);
+
+	public SemiExternalVertex(int id, State initialState,
+			ShardedEdgeStore edges) {
+		this.id = id;
+		this.state = initialState;
+		this.edges = edges;
+	}
+
+	public Integer id() {
+		return id;
+	}
+
+	public State state() {
+		return state;
+	}
+
+	@SuppressWarnings("unchecked")
+	public void setState(Object state) {
+		this.state = (State) state;
+	}
+
+	/**
+	 * @return the number of outgoing edges in the edge store.
+	 */
+	public int outDegree() {
+		return edges.outDegree(id);
+	}
+
+	public int edgeCount() {
+		return outDegree();
+	}
+
+	/**
+	 * The signal that is sent along all outgoing edges, e.g. the state divided
+	 * by the out-degree in PageRank.
+	 */
+	protected abstract Signal signal();
+
+	/**
+	 * Calculates the new vertex state.
+	 * 
+	 * @param uncollectedSignals
+	 *            all signals received by this vertex since the last time this
+	 *            function was executed, only valid during this call
+	 * 
+	 * @return The new vertex state.
+	 */
+	public abstract State collect(State oldState,
+			Iterable<Signal> uncollectedSignals);
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public boolean deliverSignal(Object signal, Option sourceId) {
+		uncollectedSignals.add((Signal) signal);
+		return false;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public void executeCollectOperation(GraphEditor graphEditor) {
+		setState(collect(state, uncollectedSignals));
+		uncollectedSignals.clear();
+	}
+
+	/**
+	 * Scans the targets of this vertex in the edge store and sends them the
+	 * signal.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	public void executeSignalOperation(GraphEditor graphEditor) {
+		Signal signal = signal();
+		Option<Object> sourceId = new Some<Object>(id);
+		int degree = edges.outDegree(id);
+		for (int i = 0; i < degree; i++) {
+			graphEditor.sendSignal(signal, edges.target(id, i), sourceId);
+		}
+		signaledState = state;
+		signaled = true;
+	}
+
+	/**
+	 * Does not add the edge, the edges of this vertex are read from the
+	 * `ShardedEdgeStore`.
+	 * 
+	 * @return false
+	 */
+	@SuppressWarnings("rawtypes")
+	@Override
+	public boolean addEdge(Edge e, GraphEditor graphEditor) {
+		return false;
+	}
+
+	public double scoreSignal() {
+		if (!signaled
+				|| (state == null ? signaledState != null : !state
+						.equals(signaledState))) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+	public double scoreCollect() {
+		if (!uncollectedSignals.isEmpty()) {
+			return 1.0;
+		} else {
+			return 0.0;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(id=" + id + ", state=" + state
+				+ ")";
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi.semiexternal;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Read-only view on the edge shards written by `EdgeShardWriter`. The shards
+ * are memory-mapped, so the edges are paged in by the operating system when
+ * they are scanned and only the pages of recently signaled vertices occupy
+ * memory. The targets of a vertex are stored consecutively, so signaling a
+ * vertex is a sequential scan and signaling the vertices in id order scans
+ * each shard from the beginning to the end.
+ * 
+ * Thread-safe, the mapped buffers are only accessed with absolute gets. Only
+ * the shards that are listed in the manifest of the directory are mapped.
+ * 
+ * @note Only for graphs that are executed in the local JVM, the store is not
+ *       serializable.
+ */
+public class ShardedEdgeStore {
+
+	private IntBuffer[] shards;
+	private final int[] targetCounts;
+	private final int verticesPerShard;
+	private final int numberOfVertices;
+	private final long numberOfEdges;
+
+	/**
+	 * Maps all shards in `directory`.
+	 */
+	public ShardedEdgeStore(File directory) throws IOException {
+		File manifestFile = new File(directory, EdgeShardWriter.MANIFEST);
+		if (!manifestFile.exists()) {
+			throw new IOException("There are no edge shards in " + directory
+					+ ".");
+		}
+		int count;
+		DataInputStream manifest = new DataInputStream(new FileInputStream(
+				manifestFile));
+		try {
+			count = manifest.readInt();
+			verticesPerShard = manifest.readInt();
+			numberOfVertices = manifest.readInt();
+		} finally {
+			manifest.close();
+		}
+		shards = new IntBuffer[count];
+		targetCounts = new int[count];
+		long edges = 0;
+		int vertices = 0;
+		for (int i = 0; i < count; i++) {
+			RandomAccessFile file = new RandomAccessFile(
+					shardFile(directory, i), "r");
+			try {
+				FileChannel channel = file.getChannel();
+				shards[i] = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+						channel.size()).asIntBuffer();
+			} finally {
+				file.close();
+			}
+			int length = shards[i].limit();
+			int verticesInShard = shards[i].get(length - 1);
+			targetCounts[i] = length - verticesInShard - 3;
+			edges += targetCounts[i];
+			vertices += verticesInShard;
+		}
+		if (vertices != numberOfVertices) {
+			throw new IOException("The shards in " + directory + " hold "
+					+ vertices + " vertices, the manifest lists "
+					+ numberOfVertices + ".");
+		}
+		this.numberOfEdges = edges;
+	}
+
+	private static File shardFile(File directory, int shard) {
+		return new File(directory, EdgeShardWriter.SHARD_PREFIX + shard
+				+ EdgeShardWriter.SHARD_SUFFIX);
+	}
+
+	/**
+	 * @return the number of vertex ids, all ids from 0 to this number - 1 are
+	 *         vertices.
+	 */
+	public int numberOfVertices() {
+		return numberOfVertices;
+	}
+
+	public long numberOfEdges() {
+		return numberOfEdges;
+	}
+
+	public int outDegree(int vertexId) {
+		int shardIndex = vertexId / verticesPerShard;
+		IntBuffer shard = shards[shardIndex];
+		int offsets = targetCounts[shardIndex] + vertexId % verticesPerShard;
+		return shard.get(offsets + 1) - shard.get(offsets);
+	}
+
+	/**
+	 * @return the target of the `index`-th outgoing edge of `vertexId`, in
+	 *         ascending order of the target ids.
+	 */
+	public int target(int vertexId, int index) {
+		int shardIndex = vertexId / verticesPerShard;
+		IntBuffer shard = shards[shardIndex];
+		return shard.get(shard.get(targetCounts[shardIndex] + vertexId
+				% verticesPerShard)
+				+ index);
+	}
+
+	/**
+	 * Drops the references to the mapped shards, the files are unmapped when
+	 * the buffers are garbage collected. The store cannot be used afterwards.
+	 */
+	public void close() {
+		shards = null;
+	}
+
+}
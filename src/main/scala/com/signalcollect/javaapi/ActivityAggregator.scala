@@ -0,0 +1,70 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi
+
+import com.signalcollect.interfaces.AggregationOperation
+import com.signalcollect.{ AbstractVertex, Vertex }
+
+/**
+ * Snapshot of how many vertices want to signal and how many signals they would send.
+ */
+case class Activity(vertices: Long, edges: Long, pendingVertices: Long, pendingEdges: Long) {
+
+  /**
+   * Fraction of the graph that is active, measured in signals if the graph has edges.
+   */
+  def activeFraction: Double = {
+    if (edges > 0) {
+      pendingEdges.toDouble / edges
+    } else if (vertices > 0) {
+      pendingVertices.toDouble / vertices
+    } else {
+      0.0
+    }
+  }
+
+  def isConverged: Boolean = pendingVertices == 0
+
+  def +(other: Activity): Activity = Activity(
+    vertices + other.vertices,
+    edges + other.edges,
+    pendingVertices + other.pendingVertices,
+    pendingEdges + other.pendingEdges)
+}
+
+/**
+ * Measures the current activity of the graph: vertices with a signal score above
+ * `signalThreshold` or a collect score above `collectThreshold` are counted as pending.
+ */
+class ActivityAggregator(signalThreshold: Double, collectThreshold: Double) extends AggregationOperation[Activity] {
+  val neutralElement = Activity(0, 0, 0, 0)
+  def extract(v: Vertex[_, _]): Activity = {
+    val edges: Long = v match {
+      case a: AbstractVertex[_, _] => a.outgoingEdges.size
+      case other => 0
+    }
+    if (v.scoreSignal > signalThreshold || v.scoreCollect > collectThreshold) {
+      Activity(1, edges, 1, edges)
+    } else {
+      Activity(1, edges, 0, 0)
+    }
+  }
+  def aggregate(a: Activity, b: Activity): Activity = a + b
+}
@@ -0,0 +1,72 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi
+
+import com.signalcollect.interfaces.AggregationOperation
+import com.signalcollect.Vertex
+
+/**
+ *  A global convergence criterion that is evaluated periodically during an execution:
+ *  every `checkIntervalInSteps` steps of a synchronous execution or every
+ *  `checkIntervalInMilliseconds` of an asynchronous execution the result of
+ *  `aggregationOperation` is passed to `isConverged` and the execution stops as soon as it
+ *  returns true.
+ *
+ *  @example `new ConvergenceCondition<Double>(new ResidualSum(), 100, 1) {
+ *        public boolean isConverged(Double residualSum) {
+ *          return residualSum < 1e-6;
+ *        }}`
+ */
+abstract class ConvergenceCondition[ResultType](
+  val aggregationOperation: AggregationOperation[ResultType],
+  val checkIntervalInMilliseconds: Long,
+  val checkIntervalInSteps: Long) {
+
+  def this(aggregationOperation: AggregationOperation[ResultType]) = this(aggregationOperation, 1000, 1)
+
+  def isConverged(aggregate: ResultType): Boolean
+
+}
+
+/**
+ *  Converged once at most `maxPendingVertices` vertices still want to signal or collect.
+ */
+class PendingVerticesCondition(maxPendingVertices: Long, signalThreshold: Double, collectThreshold: Double, checkIntervalInMilliseconds: Long, checkIntervalInSteps: Long)
+  extends ConvergenceCondition[Activity](new ActivityAggregator(signalThreshold, collectThreshold), checkIntervalInMilliseconds, checkIntervalInSteps) {
+
+  def this(maxPendingVertices: Long) = this(maxPendingVertices, ExecutionConfiguration.signalThreshold, ExecutionConfiguration.collectThreshold, 1000, 1)
+
+  def isConverged(activity: Activity): Boolean = activity.pendingVertices <= maxPendingVertices
+
+}
+
+/**
+ *  Evaluates a convergence condition and the activity of the graph in a single pass.
+ */
+class ConvergenceAggregator[ResultType](condition: ConvergenceCondition[ResultType], activity: ActivityAggregator)
+  extends AggregationOperation[(Activity, ResultType)] {
+  val neutralElement = (activity.neutralElement, condition.aggregationOperation.neutralElement)
+  def extract(v: Vertex[_, _]): (Activity, ResultType) = {
+    (activity.extract(v), condition.aggregationOperation.extract(v))
+  }
+  def aggregate(a: (Activity, ResultType), b: (Activity, ResultType)): (Activity, ResultType) = {
+    (activity.aggregate(a._1, b._1), condition.aggregationOperation.aggregate(a._2, b._2))
+  }
+}
@@ -20,13 +20,109 @@
 package com.signalcollect.javaapi
 
 import com.signalcollect.{ Vertex, DefaultGraph => ScalaDefaultGraph, Graph => ScalaGraph }
-import com.signalcollect.configuration.GraphConfiguration
+import com.signalcollect.{ ExecutionConfiguration => ScalaExecutionConfiguration, ExecutionInformation }
+import com.signalcollect.configuration.{ ExecutionMode, GraphConfiguration }
 import scala.reflect.ClassTag
 
 trait Graph extends ScalaGraph[Object, Object] with JavaGraphFunctions
 
-class DefaultGraph(config: GraphConfiguration = GraphConfiguration()) extends ScalaDefaultGraph[Object, Object](config) with Graph {
+class DefaultGraph(config: GraphConfiguration = GraphConfiguration(), instrumentation: InstrumentationConfiguration = InstrumentationConfiguration()) extends ScalaDefaultGraph[Object, Object](config) with Graph {
   override def toString: String = "javaapi.DefaultGraph"
+
+  override val metricsRegistry: MetricsRegistry = {
+    if (instrumentation.metricsEnabled) new MetricsRegistry(instrumentation.graphName) else null
+  }
+
+  protected val profiler: Profiler = {
+    if (instrumentation.profilingEnabled) new Profiler(instrumentation.profilingSampleInterval) else null
+  }
+
+  /**
+   *  Loaded reflectively from the "signal-collect-javaapi-jfr" sub-project, which is built
+   *  separately on a JDK with JFR, so that this project builds and runs without JFR.
+   */
+  protected val executionEvents: ExecutionEvents = {
+    if (instrumentation.flightRecorderEventsEnabled) {
+      val eventsClass = try {
+        Class.forName("com.signalcollect.javaapi.jfr.FlightRecorderEvents")
+      } catch {
+        case e: ClassNotFoundException =>
+          throw new IllegalStateException(
+            "Flight Recorder events require the signal-collect-javaapi-jfr classes on the classpath.", e)
+      }
+      eventsClass
+        .getConstructor(classOf[Long], classOf[Int])
+        .newInstance(
+          (instrumentation.longCollectThresholdInMicroseconds * 1000).asInstanceOf[AnyRef],
+          instrumentation.largeSignalBatchSize.asInstanceOf[AnyRef])
+        .asInstanceOf[ExecutionEvents]
+    } else {
+      null
+    }
+  }
+
+  protected val vertexInstrumentation: Option[Instrumentation] = {
+    if (instrumentation.isEnabled) Some(new Instrumentation(metricsRegistry, profiler, executionEvents)) else None
+  }
+
+  @volatile protected var lastProfileReport: ProfileReport = null
+
+  override def profileReport: ProfileReport = lastProfileReport
+
+  override protected def prepareVertices {
+    vertexInstrumentation foreach attachInstrumentation
+  }
+
+  /**
+   *  Attaches the instrumentation to all vertices before the execution, so that vertices
+   *  that were added since the last execution are instrumented as well. Executions of the
+   *  slices or steps of a driver, such as `executeInPriorityOrder`, skip this pass, the
+   *  driver attaches the instrumentation once when it starts. Vertices that are added while
+   *  a driver runs are instrumented by the next execution outside of a driver.
+   */
+  override def execute(config: ScalaExecutionConfiguration): ExecutionInformation = {
+    vertexInstrumentation match {
+      case Some(i) =>
+        if (!isDriving) {
+          attachInstrumentation(i)
+        }
+        val execution = if (executionEvents != null) executionEvents.executionStarted(config.executionMode.toString) else null
+        val start = System.nanoTime
+        try {
+          super.execute(config)
+        } finally {
+          if (executionEvents != null) {
+            executionEvents.executionFinished(execution)
+          }
+          if (metricsRegistry != null) {
+            metricsRegistry.executionFinished(System.nanoTime - start)
+          }
+          if (profiler != null) {
+            lastProfileReport = profiler.report
+          }
+        }
+      case None =>
+        super.execute(config)
+    }
+  }
+
+  /**
+   *  Also publishes the estimate as the memory attributes of the graph MBean.
+   */
+  override def memoryFootprint(sampleInterval: Int): MemoryFootprint = {
+    val footprint = super.memoryFootprint(sampleInterval)
+    if (metricsRegistry != null) {
+      metricsRegistry.memoryFootprintEstimated(footprint)
+    }
+    footprint
+  }
+
+  override def shutdown {
+    if (metricsRegistry != null) {
+      metricsRegistry.close
+    }
+    super.shutdown
+  }
 }
 
 trait JavaGraphFunctions extends ScalaGraph[Object, Object] {
@@ -66,4 +162,295 @@ trait JavaGraphFunctions extends ScalaGraph[Object, Object] {
     foreachVertex(FunUtil.convert(c))
   }
 
-}
\ No newline at end of file
+  /**
+   *  Sets the state of every vertex to the result of `initialState` and discards all signals
+   *  the vertices have received, while keeping the vertices, their edges and the workers.
+   *  Afterwards the graph can be executed again, e.g. to run SSSP from a different source.
+   *
+   *  @note The function `initialState` is executed in parallel on the workers, beware of race
+   *  conditions.
+   *
+   *  @example `resetStates(new VertexFunction[Object]() {
+   *        public Object f(Vertex v) {
+   *          return v.id().equals(source) ? 0 : Integer.MAX_VALUE;
+   *        })`
+   */
+  def resetStates(initialState: VertexFunction[Object]) {
+    foreachVertex((v: Vertex[_, _]) => {
+      val state = initialState.f(v)
+      v match {
+        case d: DataGraphVertex[_, _, _] => d.reinitialize(state)
+        case d: DataFlowVertex[_, _, _] => d.reinitialize(state)
+        case other => other.asInstanceOf[Vertex[Any, Any]].setState(state)
+      }
+    })
+    recalculateScores
+  }
+
+  /**
+   *  Executes the computation in priority order: each execution only lets vertices with a
+   *  `PrioritizedVertex.priority` inside the current bucket of width `bucketWidth` signal, all
+   *  other vertices defer their signal operations until the bucket that contains their priority
+   *  is processed. Buckets are processed in increasing order, which for SSSP-like algorithms
+   *  approximates delta-stepping.
+   *
+   *  @return The execution information of the execution of each bucket, in processing order.
+   *
+   *  @note Vertices that do not implement `PrioritizedVertex` are never deferred.
+   */
+  def executeInPriorityOrder(bucketWidth: Double, config: ScalaExecutionConfiguration): java.util.List[ExecutionInformation] = {
+    require(bucketWidth > 0, "The bucket width has to be positive.")
+    driving {
+      val pendingPriority = new MinPendingPriorityAggregator(config.signalThreshold)
+      val bucketExecutions = new java.util.ArrayList[ExecutionInformation]
+      var nextPriority = aggregate(pendingPriority)
+      while (nextPriority < Double.PositiveInfinity) {
+        setPriorityLimit((math.floor(nextPriority / bucketWidth) + 1) * bucketWidth)
+        recalculateScores
+        bucketExecutions.add(execute(config))
+        nextPriority = aggregate(pendingPriority)
+      }
+      setPriorityLimit(Double.PositiveInfinity)
+      bucketExecutions
+    }
+  }
+
+  /**
+   *  Executes the computation in priority order with the default execution parameters.
+   */
+  def executeInPriorityOrder(bucketWidth: Double): java.util.List[ExecutionInformation] = {
+    executeInPriorityOrder(bucketWidth, ExecutionConfiguration)
+  }
+
+  /**
+   *  Executes the computation and adaptively switches between synchronous and asynchronous
+   *  execution based on the measured activity, see `HybridExecutionConfiguration`.
+   *
+   *  Scores are recalculated whenever the execution mode changes, so signals that were
+   *  delivered but not collected yet are collected by the next execution. Every execution is
+   *  limited to the time that remains of the time limit of the base configuration.
+   *
+   *  @return The execution information of each synchronous or asynchronous execution, in
+   *  		order.
+   */
+  def execute(config: HybridExecutionConfiguration): java.util.List[ExecutionInformation] = {
+    driving {
+      val base = config.baseConfiguration
+      val activity = new ActivityAggregator(base.signalThreshold, base.collectThreshold)
+      val synchronous = base.withExecutionMode(ExecutionMode.Synchronous).withStepsLimit(config.stepsPerMeasurement)
+      val asynchronous = base.withExecutionMode(ExecutionMode.OptimizedAsynchronous).withTimeLimit(config.asynchronousSliceInMilliseconds)
+      val deadline = base.timeLimit map (System.currentTimeMillis + _)
+      val executions = new java.util.ArrayList[ExecutionInformation]
+      var isSynchronous = true
+      var currentActivity = aggregate(activity)
+      while (!currentActivity.isConverged && deadline.forall(System.currentTimeMillis < _)) {
+        val switchMode = if (isSynchronous) {
+          currentActivity.activeFraction < config.asynchronousActivityThreshold
+        } else {
+          currentActivity.activeFraction > config.synchronousActivityThreshold
+        }
+        if (switchMode) {
+          isSynchronous = !isSynchronous
+          recalculateScores
+        }
+        val remainingTime = deadline map (d => math.max(d - System.currentTimeMillis, 1L))
+        val slice = if (isSynchronous) {
+          remainingTime map (synchronous.withTimeLimit(_)) getOrElse synchronous
+        } else {
+          asynchronous.withTimeLimit(remainingTime map (math.min(_, config.asynchronousSliceInMilliseconds)) getOrElse config.asynchronousSliceInMilliseconds)
+        }
+        executions.add(execute(slice))
+        currentActivity = aggregate(activity)
+      }
+      executions
+    }
+  }
+
+  /**
+   *  Executes the computation until `condition` holds or the execution converges or reaches
+   *  one of the limits of `config`. The condition is evaluated between executions of
+   *  `condition.checkIntervalInSteps` steps in synchronous mode and between executions of
+   *  `condition.checkIntervalInMilliseconds` in asynchronous modes.
+   *
+   *  @return The execution information of each execution between two evaluations, in order.
+   */
+  def execute[ResultType](config: ScalaExecutionConfiguration, condition: ConvergenceCondition[ResultType]): java.util.List[ExecutionInformation] = {
+    val convergence = new ConvergenceAggregator(condition, new ActivityAggregator(config.signalThreshold, config.collectThreshold))
+    executeInSlices(config, condition.checkIntervalInSteps, condition.checkIntervalInMilliseconds) {
+      val (activity, result) = aggregate(convergence)
+      activity.isConverged || condition.isConverged(result)
+    }
+  }
+
+  /**
+   *  Executes the computation with the default execution parameters until `condition` holds.
+   */
+  def execute[ResultType](condition: ConvergenceCondition[ResultType]): java.util.List[ExecutionInformation] = {
+    execute(ExecutionConfiguration, condition)
+  }
+
+  /**
+   *  Executes the computation with named global aggregators that vertices can contribute to
+   *  and read from inside `collect`. The partial results of the workers are merged after
+   *  every step in synchronous mode and every `aggregators.mergeIntervalInMilliseconds` in
+   *  asynchronous modes.
+   *
+   *  @return The execution information of each execution between two merges, in order.
+   */
+  def execute(config: ScalaExecutionConfiguration, aggregators: GlobalAggregators): java.util.List[ExecutionInformation] = {
+    val activity = new ActivityAggregator(config.signalThreshold, config.collectThreshold)
+    attachContext(new VertexContext(aggregators))
+    try {
+      executeInSlices(config, 1, aggregators.mergeIntervalInMilliseconds) {
+        aggregators.merge
+        aggregate(activity).isConverged
+      }
+    } finally {
+      attachContext(null)
+    }
+  }
+
+  /**
+   *  Opens a session that executes the graph one synchronous step at a time and passes the
+   *  state changes of each step to `listener`, see `SteppingSession`.
+   */
+  def openSteppingSession(config: ScalaExecutionConfiguration, listener: StepListener, aggregators: GlobalAggregators): SteppingSession = {
+    new SteppingSession(this, config, listener, aggregators)
+  }
+
+  def openSteppingSession(config: ScalaExecutionConfiguration, listener: StepListener): SteppingSession = {
+    openSteppingSession(config, listener, new GlobalAggregators)
+  }
+
+  def openSteppingSession(listener: StepListener): SteppingSession = {
+    openSteppingSession(ExecutionConfiguration, listener)
+  }
+
+  /**
+   *  Creates a stream that applies edge insertions and deletions to this graph in
+   *  micro-batches and incrementally re-executes the computation after each batch, see
+   *  `EdgeStream`. The stream has to be started before events are applied.
+   */
+  def edgeStream(config: ScalaExecutionConfiguration, maxBatchSize: Int, maxBatchDelayInMilliseconds: Long, listener: EdgeStreamListener): EdgeStream = {
+    new EdgeStream(this, config, maxBatchSize, maxBatchDelayInMilliseconds, listener)
+  }
+
+  /**
+   *  Repeatedly executes slices of `stepsPerSlice` steps in synchronous mode or of
+   *  `millisecondsPerSlice` in asynchronous modes, until `isDone` returns true or one of the
+   *  limits of `config` is reached. `isDone` is evaluated before each slice, while no vertex
+   *  is executing. The last slice is shortened to the steps or the time that remain of the
+   *  limits of `config`, steps are only counted in synchronous mode.
+   */
+  protected def executeInSlices(config: ScalaExecutionConfiguration, stepsPerSlice: Long, millisecondsPerSlice: Long)(isDone: => Boolean): java.util.List[ExecutionInformation] = {
+    driving {
+      val isSynchronous = config.executionMode == ExecutionMode.Synchronous
+      val deadline = config.timeLimit map (System.currentTimeMillis + _)
+      val executions = new java.util.ArrayList[ExecutionInformation]
+      var steps = 0L
+      while (!isDone && deadline.forall(System.currentTimeMillis < _) && (!isSynchronous || config.stepsLimit.forall(steps < _))) {
+        val remainingTime = deadline map (d => math.max(d - System.currentTimeMillis, 1L))
+        val slice = if (isSynchronous) {
+          val sliceSteps = config.stepsLimit map (limit => math.min(stepsPerSlice, limit - steps)) getOrElse stepsPerSlice
+          steps += sliceSteps
+          val stepSlice = config.withStepsLimit(sliceSteps)
+          remainingTime map (stepSlice.withTimeLimit(_)) getOrElse stepSlice
+        } else {
+          config.withTimeLimit(remainingTime map (math.min(_, millisecondsPerSlice)) getOrElse millisecondsPerSlice)
+        }
+        executions.add(execute(slice))
+      }
+      executions
+    }
+  }
+
+  /**
+   *  The live execution metrics of this graph, or null if it was built without
+   *  `GraphBuilder.withMetrics`.
+   */
+  def metricsRegistry: MetricsRegistry = null
+
+  /**
+   *  The costs of the vertex operations attributed to vertex and edge classes, cumulated over
+   *  all executions and updated at the end of every execution. Null if the graph was built
+   *  without `GraphBuilder.withProfiling`.
+   */
+  def profileReport: ProfileReport = null
+
+  /**
+   *  Estimates the retained memory of the vertices per vertex class and component (state,
+   *  signal buffers and outgoing edges) and per worker. Every vertex is counted, but only every
+   *  `sampleInterval`-th vertex of each worker is measured.
+   *
+   *  @note Should not be called during an execution, the measured vertices are not locked.
+   */
+  def memoryFootprint(sampleInterval: Int): MemoryFootprint = {
+    val estimator = new MemoryFootprintEstimator(sampleInterval)
+    foreachVertex((v: Vertex[_, _]) => estimator.add(v))
+    estimator.result
+  }
+
+  /**
+   *  Estimates the memory footprint by measuring every 100th vertex of each worker.
+   */
+  def memoryFootprint: MemoryFootprint = memoryFootprint(100)
+
+  private var activeDrivers = 0
+
+  /**
+   *  Marks the start of a driver that executes the graph in slices or steps, the vertices are
+   *  prepared once when the first driver starts instead of before every execution.
+   */
+  private[javaapi] def enterDriver() {
+    synchronized {
+      if (activeDrivers == 0) {
+        prepareVertices
+      }
+      activeDrivers += 1
+    }
+  }
+
+  private[javaapi] def exitDriver() {
+    synchronized {
+      activeDrivers -= 1
+    }
+  }
+
+  protected def isDriving: Boolean = synchronized { activeDrivers > 0 }
+
+  protected def driving[T](body: => T): T = {
+    enterDriver
+    try {
+      body
+    } finally {
+      exitDriver
+    }
+  }
+
+  /**
+   *  Prepares all vertices for a series of executions, e.g. by attaching the instrumentation.
+   */
+  protected def prepareVertices {}
+
+  protected def attachInstrumentation(instrumentation: Instrumentation) {
+    foreachVertex((v: Vertex[_, _]) => v match {
+      case i: InstrumentedVertex => i.setInstrumentation(instrumentation)
+      case other =>
+    })
+  }
+
+  private[javaapi] def attachContext(context: VertexContext) {
+    foreachVertex((v: Vertex[_, _]) => v match {
+      case c: ContextAwareVertex => c.setContext(context)
+      case other =>
+    })
+  }
+
+  protected def setPriorityLimit(priorityLimit: Double) {
+    foreachVertex((v: Vertex[_, _]) => v match {
+      case p: PrioritizedVertex => p.setPriorityLimit(priorityLimit)
+      case other =>
+    })
+  }
+
+}
@@ -0,0 +1,242 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi
+
+import java.util.concurrent.{ LinkedBlockingQueue, TimeUnit }
+import java.util.concurrent.atomic.AtomicBoolean
+import com.signalcollect.{ Edge, EdgeId, Vertex, ExecutionConfiguration => ScalaExecutionConfiguration, Graph => ScalaGraph }
+
+sealed trait EdgeEvent
+case class EdgeInsertion(sourceId: Object, edge: Edge[_]) extends EdgeEvent
+case class EdgeDeletion(sourceId: Object, targetId: Object) extends EdgeEvent
+
+/**
+ *  Streams edge insertions and deletions into a graph. Events are queued and applied in
+ *  micro-batches of at most `maxBatchSize` events. A batch is closed when it is full or
+ *  `maxBatchDelayInMilliseconds` after its first event arrived. After each batch the graph
+ *  is executed with `config`, starting from the converged states of the previous batch: only
+ *  the vertices touched by the batch get their scores recalculated, so the execution only
+ *  spreads from there.
+ *
+ *  Events can be submitted from any thread, the graph is only modified by the thread of the
+ *  stream, which is started with `start` and stopped with `stop`.
+ *  If a batch fails, the thread stops and the exception is rethrown by `stop` and by later
+ *  calls to `insert` and `delete`.
+ *
+ *  @note Deletions also discard the last signal that the target of the edge received along
+ *  the edge if the target extends `DataGraphVertex`. Algorithms that only ever improve their
+ *  state, such as SSSP, can not recover from deletions incrementally.
+ */
+class EdgeStream(
+  graph: ScalaGraph[Object, Object],
+  config: ScalaExecutionConfiguration,
+  maxBatchSize: Int,
+  maxBatchDelayInMilliseconds: Long,
+  listener: EdgeStreamListener) {
+
+  require(maxBatchSize > 0, "The maximum batch size has to be positive.")
+
+  def this(graph: ScalaGraph[Object, Object], listener: EdgeStreamListener) = this(graph, ExecutionConfiguration, 10000, 1000, listener)
+
+  protected val queue = new LinkedBlockingQueue[EdgeEvent]
+
+  @volatile protected var isRunning = false
+
+  protected var thread: Thread = _
+
+  /**
+   *  The exception that stopped the background thread, if any.
+   */
+  @volatile protected var failure: Throwable = null
+
+  /**
+   *  True while the stream is registered as a driver of a Java API graph, so that the batch
+   *  executions do not prepare all vertices again.
+   */
+  protected var isDriving = false
+
+  /**
+   *  Queues the insertion of `edge` at the vertex with id `sourceId`.
+   */
+  def insert(sourceId: Object, edge: Edge[_]) {
+    checkNotFailed
+    queue.put(EdgeInsertion(sourceId, edge))
+  }
+
+  /**
+   *  Queues the deletion of the edge between the vertices with ids `sourceId` and `targetId`.
+   */
+  def delete(sourceId: Object, targetId: Object) {
+    checkNotFailed
+    queue.put(EdgeDeletion(sourceId, targetId))
+  }
+
+  /**
+   *  @return The number of events that have not been applied yet.
+   */
+  def pendingEvents: Int = queue.size
+
+  /**
+   *  Starts applying batches in a background thread.
+   */
+  def start() {
+    synchronized {
+      checkNotFailed
+      if (!isRunning) {
+        isRunning = true
+        graph match {
+          case j: JavaGraphFunctions if !isDriving =>
+            j.enterDriver
+            isDriving = true
+          case other =>
+        }
+        thread = new Thread(new Runnable {
+          def run {
+            try {
+              while (isRunning) {
+                processBatch(maxBatchDelayInMilliseconds)
+              }
+            } catch {
+              case t: Throwable =>
+                failure = t
+                isRunning = false
+            }
+          }
+        }, "EdgeStream")
+        thread.setDaemon(true)
+        thread.start
+      }
+    }
+  }
+
+  /**
+   *  Stops the background thread after the batch that is currently processed and then
+   *  applies all events that are still queued.
+   *
+   *  @throws IllegalStateException if applying a batch or executing the graph failed in the
+   *  background thread, the queued events are not applied in that case.
+   */
+  def stop() {
+    synchronized {
+      isRunning = false
+      if (thread != null) {
+        thread.join
+      }
+      try {
+        checkNotFailed
+        while (!queue.isEmpty) {
+          processBatch(0)
+        }
+      } finally {
+        if (isDriving) {
+          graph.asInstanceOf[JavaGraphFunctions].exitDriver
+          isDriving = false
+        }
+      }
+    }
+  }
+
+  /**
+   *  @return The exception that stopped the background thread, or null if it did not fail.
+   */
+  def failureCause: Throwable = failure
+
+  protected def checkNotFailed {
+    if (failure != null) {
+      throw new IllegalStateException("The edge stream stopped because a batch failed.", failure)
+    }
+  }
+
+  /**
+   *  Waits up to `timeoutInMilliseconds` for the first event, then collects a batch, applies
+   *  it and executes the graph incrementally.
+   *
+   *  @return The number of events in the batch.
+   */
+  protected def processBatch(timeoutInMilliseconds: Long): Int = {
+    val first = queue.poll(timeoutInMilliseconds, TimeUnit.MILLISECONDS)
+    if (first == null) {
+      0
+    } else {
+      val batch = new java.util.ArrayList[EdgeEvent](math.min(maxBatchSize, 1024))
+      batch.add(first)
+      val batchDeadline = System.currentTimeMillis + maxBatchDelayInMilliseconds
+      var remaining = batchDeadline - System.currentTimeMillis
+      while (batch.size < maxBatchSize && remaining > 0) {
+        queue.drainTo(batch, maxBatchSize - batch.size)
+        if (batch.size < maxBatchSize) {
+          val next = queue.poll(remaining, TimeUnit.MILLISECONDS)
+          if (next != null) {
+            batch.add(next)
+          }
+        }
+        remaining = batchDeadline - System.currentTimeMillis
+      }
+      applyBatch(batch)
+      batch.size
+    }
+  }
+
+  protected def applyBatch(batch: java.util.List[EdgeEvent]) {
+    val touched = new java.util.HashSet[Object]
+    var insertions = 0
+    var deletions = 0
+    val events = batch.iterator
+    while (events.hasNext) {
+      events.next match {
+        case EdgeInsertion(sourceId, edge) =>
+          graph.addEdge(sourceId, edge.asInstanceOf[Edge[Object]])
+          touched.add(sourceId)
+          insertions += 1
+        case EdgeDeletion(sourceId, targetId) =>
+          graph.removeEdge(EdgeId(sourceId, targetId))
+          // the graph reports a missing vertex with an exception, the target only exists
+          // if the function was called, failures inside the function are rethrown
+          val targetFound = new AtomicBoolean(false)
+          val targetExists = try {
+            graph.forVertexWithId(targetId, (v: Vertex[_, _]) => {
+              targetFound.set(true)
+              v match {
+                case d: DataGraphVertex[_, _, _] => d.removeSignalFrom(sourceId)
+                case other => false
+              }
+            })
+            true
+          } catch {
+            case e: Exception if !targetFound.get => false
+          }
+          touched.add(sourceId)
+          if (targetExists) {
+            touched.add(targetId)
+          }
+          deletions += 1
+      }
+    }
+    val touchedIds = touched.iterator
+    while (touchedIds.hasNext) {
+      graph.recalculateScoresForVertexWithId(touchedIds.next)
+    }
+    val info = graph.execute(config)
+    if (listener != null) {
+      listener.onBatchProcessed(insertions, deletions, info)
+    }
+  }
+
+}
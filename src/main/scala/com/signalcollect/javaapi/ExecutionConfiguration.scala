@@ -27,4 +27,12 @@ import com.signalcollect.configuration._
  *  An execution configuration specifies execution parameters for a computation. This object
  *  represents an ExecutionConfiguration that is initialized with the default parameters.
  */
-object ExecutionConfiguration extends ScalaExecutionConfiguration(ExecutionMode.OptimizedAsynchronous, 0.01, 0.0, None, None)
\ No newline at end of file
+object ExecutionConfiguration extends ScalaExecutionConfiguration(ExecutionMode.OptimizedAsynchronous, 0.01, 0.0, None, None) {
+
+  /**
+   *  Returns a configuration for an execution that adaptively switches between synchronous
+   *  and asynchronous execution, initialized with the default parameters.
+   */
+  def withHybridExecution: HybridExecutionConfiguration = HybridExecutionConfiguration()
+
+}
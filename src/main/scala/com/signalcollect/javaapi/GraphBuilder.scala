@@ -28,11 +28,52 @@ import com.signalcollect.interfaces.StorageFactory
 import com.signalcollect.nodeprovisioning.NodeProvisioner
 import scala.reflect.ClassTag
 
-class GraphBuilder(config: GraphConfiguration) extends ScalaGraphBuilder[Object, Object](config) {
+class GraphBuilder(config: GraphConfiguration, instrumentation: InstrumentationConfiguration) extends ScalaGraphBuilder[Object, Object](config) {
+
+  def this(config: GraphConfiguration) = this(config, InstrumentationConfiguration())
 
   def this() = this(GraphConfiguration())
 
-  override def build: Graph = new DefaultGraph(config)
+  override def build: Graph = new DefaultGraph(config, instrumentation)
+
+  /**
+   *  Collects live execution metrics for each worker and exposes them as JMX MBeans, see
+   *  `MetricsRegistry`. `graphName` distinguishes the MBeans of different graphs in the same JVM,
+   *  without a name every graph gets a generated unique name.
+   */
+  def withMetrics(graphName: String): GraphBuilder = {
+    new GraphBuilder(config, instrumentation.copy(metricsEnabled = true, graphName = graphName))
+  }
+
+  def withMetrics: GraphBuilder = withMetrics(instrumentation.graphName)
+
+  /**
+   *  Samples one in `sampleInterval` vertex operations of each worker and attributes their time
+   *  and allocations to vertex and edge classes, see `Graph.profileReport`.
+   */
+  def withProfiling(sampleInterval: Int): GraphBuilder = {
+    new GraphBuilder(config, instrumentation.copy(profilingEnabled = true, profilingSampleInterval = sampleInterval))
+  }
+
+  def withProfiling: GraphBuilder = withProfiling(instrumentation.profilingSampleInterval)
+
+  /**
+   *  Emits executions, worker steps and idle periods, signal operations that send at least
+   *  `largeSignalBatchSize` signals and collect operations that take longer than
+   *  `longCollectThresholdInMicroseconds` as JDK Flight Recorder events, see
+   *  `jfr.FlightRecorderEvents`. Requires a JVM with JFR and the classes of the
+   *  "signal-collect-javaapi-jfr" sub-project on the classpath.
+   */
+  def withFlightRecorderEvents(longCollectThresholdInMicroseconds: Long, largeSignalBatchSize: Int): GraphBuilder = {
+    new GraphBuilder(config, instrumentation.copy(
+      flightRecorderEventsEnabled = true,
+      longCollectThresholdInMicroseconds = longCollectThresholdInMicroseconds,
+      largeSignalBatchSize = largeSignalBatchSize))
+  }
+
+  def withFlightRecorderEvents: GraphBuilder = {
+    withFlightRecorderEvents(instrumentation.longCollectThresholdInMicroseconds, instrumentation.largeSignalBatchSize)
+  }
 
   /**
    *  Internal function to create a new builder instance that has a configuration which defaults
@@ -62,7 +103,8 @@ class GraphBuilder(config: GraphConfiguration) extends ScalaGraphBuilder[Object,
         akkaDispatcher = akkaDispatcher,
         akkaMessageCompression = akkaMessageCompression,
         nodeProvisioner = nodeProvisioner,
-        heartbeatIntervalInMilliseconds = heartbeatIntervalInMilliseconds))
+        heartbeatIntervalInMilliseconds = heartbeatIntervalInMilliseconds),
+      instrumentation)
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi
+
+import com.signalcollect.{ ExecutionConfiguration => ScalaExecutionConfiguration }
+
+/**
+ *  Configuration for an execution that switches between synchronous and asynchronous
+ *  execution depending on how active the graph is.
+ *
+ *  The execution starts in synchronous mode. After every `stepsPerMeasurement` steps the
+ *  fraction of edges along which a signal is pending is measured, and the execution switches
+ *  to asynchronous mode once it drops below `asynchronousActivityThreshold`. Asynchronous
+ *  execution runs in slices of `asynchronousSliceInMilliseconds` and switches back to
+ *  synchronous mode when the activity rises above `synchronousActivityThreshold`.
+ *
+ *  The pending edges stand in for the message volume: they are the signals that the next
+ *  step would send. The execution information of the core does not report the signals that
+ *  were sent during a slice.
+ *
+ *  @param baseConfiguration Thresholds and the overall time limit are taken from this
+ *  		configuration, its execution mode and steps limit are ignored.
+ */
+case class HybridExecutionConfiguration(
+  baseConfiguration: ScalaExecutionConfiguration = ExecutionConfiguration,
+  asynchronousActivityThreshold: Double = 0.1,
+  synchronousActivityThreshold: Double = 0.5,
+  stepsPerMeasurement: Long = 1,
+  asynchronousSliceInMilliseconds: Long = 1000) {
+
+  def withBaseConfiguration(newBaseConfiguration: ScalaExecutionConfiguration) = copy(baseConfiguration = newBaseConfiguration)
+  def withAsynchronousActivityThreshold(newThreshold: Double) = copy(asynchronousActivityThreshold = newThreshold)
+  def withSynchronousActivityThreshold(newThreshold: Double) = copy(synchronousActivityThreshold = newThreshold)
+  def withStepsPerMeasurement(newStepsPerMeasurement: Long) = copy(stepsPerMeasurement = newStepsPerMeasurement)
+  def withAsynchronousSliceInMilliseconds(newSlice: Long) = copy(asynchronousSliceInMilliseconds = newSlice)
+
+}
@@ -0,0 +1,46 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.signalcollect.javaapi
+
+/**
+ *  Configures the instrumentation of the Java vertex base classes, see `GraphBuilder.withMetrics`,
+ *  `GraphBuilder.withProfiling` and `GraphBuilder.withFlightRecorderEvents`.
+ *
+ *  @param metricsEnabled True if live execution metrics are collected and exposed over JMX.
+ *  @param graphName Name of the graph in the MBean names, has to be unique per JVM. If null, every
+ *  graph gets a generated unique name.
+ *  @param profilingEnabled True if vertex operations are sampled and attributed to classes.
+ *  @param profilingSampleInterval One in this many operations of each worker is sampled.
+ *  @param flightRecorderEventsEnabled True if the execution is emitted as JFR events.
+ *  @param longCollectThresholdInMicroseconds Collect operations that take longer are recorded.
+ *  @param largeSignalBatchSize Signal operations that send at least this many signals are recorded.
+ */
+case class InstrumentationConfiguration(
+  metricsEnabled: Boolean = false,
+  graphName: String = null,
+  profilingEnabled: Boolean = false,
+  profilingSampleInterval: Int = 100,
+  flightRecorderEventsEnabled: Boolean = false,
+  longCollectThresholdInMicroseconds: Long = 1000,
+  largeSignalBatchSize: Int = 10000) {
+
+  def isEnabled: Boolean = metricsEnabled || profilingEnabled || flightRecorderEventsEnabled
+}
@@ -0,0 +1,38 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi
+
+import com.signalcollect.interfaces.AggregationOperation
+import com.signalcollect.Vertex
+
+/**
+ * Finds the lowest priority among all prioritized vertices that still want to signal.
+ * Returns positive infinity if there is no such vertex.
+ */
+class MinPendingPriorityAggregator(signalThreshold: Double) extends AggregationOperation[Double] {
+  val neutralElement = Double.PositiveInfinity
+  def extract(v: Vertex[_, _]): Double = {
+    v match {
+      case p: PrioritizedVertex if v.scoreSignal > signalThreshold => p.priority
+      case other => Double.PositiveInfinity
+    }
+  }
+  def aggregate(a: Double, b: Double): Double = math.min(a, b)
+}
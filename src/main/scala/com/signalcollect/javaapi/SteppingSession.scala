@@ -0,0 +1,88 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi
+
+import com.signalcollect.{ ExecutionConfiguration => ScalaExecutionConfiguration, ExecutionInformation }
+import com.signalcollect.configuration.ExecutionMode
+
+/**
+ *  Executes a graph one synchronous step at a time and reports the vertices whose state
+ *  changed after every step. The step configuration and the vertex context are set up once
+ *  when the session is opened, each step only collects the state changes recorded by the
+ *  vertices instead of visiting all vertices.
+ *
+ *  Sessions are opened with `Graph.openSteppingSession` and should be closed when the
+ *  simulation ends.
+ *
+ *  @note State changes are only tracked for vertices that extend `DataGraphVertex` or
+ *  `DataFlowVertex`.
+ */
+class SteppingSession(
+  graph: JavaGraphFunctions,
+  config: ScalaExecutionConfiguration,
+  listener: StepListener,
+  aggregators: GlobalAggregators) {
+
+  protected val stepConfiguration = config.withExecutionMode(ExecutionMode.Synchronous).withStepsLimit(1)
+  protected val stateChanges = new StateChangeLog
+  protected val changeBatch = new StateChangeBatch
+  protected var stepsExecuted = 0L
+
+  graph.attachContext(new VertexContext(aggregators, stateChanges))
+  graph.enterDriver
+
+  /**
+   *  Executes one step, merges the global aggregators and passes the state changes of the
+   *  step to the listener.
+   */
+  def step(): ExecutionInformation = {
+    val info = graph.execute(stepConfiguration)
+    aggregators.merge
+    stepsExecuted += 1
+    stateChanges.drainTo(changeBatch)
+    listener.onStep(stepsExecuted, changeBatch)
+    info
+  }
+
+  /**
+   *  Executes `numberOfSteps` steps.
+   *
+   *  @return The execution information of the last step.
+   */
+  def step(numberOfSteps: Int): ExecutionInformation = {
+    require(numberOfSteps > 0, "At least one step has to be executed.")
+    var info = step()
+    for (i <- 1 until numberOfSteps) {
+      info = step()
+    }
+    info
+  }
+
+  def steps: Long = stepsExecuted
+
+  /**
+   *  Detaches the session from the vertices, which stop recording their state changes.
+   */
+  def close() {
+    graph.attachContext(null)
+    graph.exitDriver
+  }
+
+}
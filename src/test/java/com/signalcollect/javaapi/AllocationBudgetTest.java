@@ -0,0 +1,359 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.signalcollect.javaapi;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import scala.Option;
+import scala.Some;
+
+import com.signalcollect.DefaultEdge;
+import com.signalcollect.GraphEditor;
+import com.signalcollect.Vertex;
+
+/**
+ * Guards the steady state hot paths of the Java vertex base classes against
+ * per signal allocations: vertices are driven through repeated deliver,
+ * collect and signal cycles in-process, the bytes allocated by the test
+ * thread are measured with the thread allocation counters of the JVM and
+ * compared to per operation budgets.
+ * 
+ * The edges send their signals with pre-allocated source ids instead of the
+ * `Some` the core allocates per signal, so the budgets are absolute and the
+ * Java base classes have to add nothing per signal. Signals and states are
+ * cached objects, so that the user code in the test does not allocate.
+ */
+public class AllocationBudgetTest {
+
+	/**
+	 * Signals that are delivered to a vertex between two collect operations
+	 * and number of outgoing edges of a vertex.
+	 */
+	static final int FAN = 16;
+
+	static final int WARMUP_CYCLES = 50000;
+	static final int MEASURED_CYCLES = 200000;
+
+	/**
+	 * Bytes per delivered signal, above 0 only to tolerate allocations of the
+	 * JVM that are attributed to the test thread.
+	 */
+	static final double DELIVER_BUDGET = 1.0;
+
+	/**
+	 * Bytes per collect operation, independent of the number of collected
+	 * signals. Leaves room for an iterator over the collected signals.
+	 */
+	static final double COLLECT_BUDGET = 64.0;
+
+	/**
+	 * Bytes per signal sent along an edge, above 0 only to tolerate
+	 * allocations of the JVM.
+	 */
+	static final double SIGNAL_BUDGET = 1.0;
+
+	/**
+	 * Bytes per signal operation independent of the number of edges, e.g. the
+	 * `Some` of the last signal state and the iteration over the edges in the
+	 * core.
+	 */
+	static final double SIGNAL_OPERATION_BUDGET = 96.0;
+
+	private com.sun.management.ThreadMXBean threads;
+	private GraphEditor<Object, Object> editor;
+	private Option<Object>[] sourceIds;
+	private Integer[] signals;
+
+	@SuppressWarnings("unchecked")
+	@Before
+	public void setUp() {
+		boolean supported = false;
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+			threads = (com.sun.management.ThreadMXBean) ManagementFactory
+					.getThreadMXBean();
+			supported = threads.isThreadAllocatedMemorySupported();
+			if (supported) {
+				threads.setThreadAllocatedMemoryEnabled(true);
+			}
+		}
+		assumeTrue(supported);
+		editor = (GraphEditor<Object, Object>) Proxy.newProxyInstance(
+				GraphEditor.class.getClassLoader(),
+				new Class<?>[] { GraphEditor.class }, new DiscardingEditor());
+		sourceIds = new Option[FAN];
+		signals = new Integer[FAN];
+		for (int i = 0; i < FAN; i++) {
+			sourceIds[i] = new Some<Object>(i);
+			signals[i] = i;
+		}
+	}
+
+	@Test
+	public void dataGraphVertexDeliverAndCollect() {
+		final CountingDataGraphVertex v = new CountingDataGraphVertex(-1);
+		double deliver = bytesPerOperation(new Runnable() {
+			public void run() {
+				deliverAll(v);
+			}
+		}, FAN);
+		assertWithinBudget("DataGraphVertex.deliverSignal", deliver,
+				DELIVER_BUDGET);
+		double collect = bytesPerOperation(new Runnable() {
+			public void run() {
+				deliverAll(v);
+				v.executeCollectOperation(editor);
+			}
+		}, 1) - deliver * FAN;
+		assertWithinBudget("DataGraphVertex.executeCollectOperation",
+				collect, COLLECT_BUDGET);
+	}
+
+	@Test
+	public void dataFlowVertexDeliverAndCollect() {
+		final CountingDataFlowVertex v = new CountingDataFlowVertex(-1);
+		double cycle = bytesPerOperation(new Runnable() {
+			public void run() {
+				deliverAll(v);
+				v.executeCollectOperation(editor);
+			}
+		}, 1);
+		assertWithinBudget("DataFlowVertex deliver and collect cycle", cycle,
+				COLLECT_BUDGET + FAN * DELIVER_BUDGET);
+	}
+
+	@Test
+	public void dataGraphVertexSignal() {
+		CountingDataGraphVertex v = new CountingDataGraphVertex(-1);
+		addEdges(v, FAN);
+		CountingDataGraphVertex w = new CountingDataGraphVertex(-2);
+		addEdges(w, 2 * FAN);
+		assertSignalWithinBudget("DataGraphVertex", v, w);
+	}
+
+	@Test
+	public void dataFlowVertexSignal() {
+		CountingDataFlowVertex v = new CountingDataFlowVertex(-1);
+		addEdges(v, FAN);
+		CountingDataFlowVertex w = new CountingDataFlowVertex(-2);
+		addEdges(w, 2 * FAN);
+		assertSignalWithinBudget("DataFlowVertex", v, w);
+	}
+
+	@Test
+	public void dataFlowVertexTrimsSignalsAfterBurst() {
+		CountingDataFlowVertex v = new CountingDataFlowVertex(-1);
+		for (int i = 0; i < 8 * FAN; i++) {
+			v.deliverSignal(signals[0], sourceIds[0]);
+		}
+		v.executeCollectOperation(editor);
+		ArrayList<Integer> afterBurst = v.uncollectedSignals;
+		deliverAll(v);
+		v.executeCollectOperation(editor);
+		assertNotSame(afterBurst, v.uncollectedSignals);
+		ArrayList<Integer> trimmed = v.uncollectedSignals;
+		deliverAll(v);
+		v.executeCollectOperation(editor);
+		assertSame(trimmed, v.uncollectedSignals);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private void addEdges(com.signalcollect.AbstractVertex v, int edges) {
+		Option<Object> sourceId = new Some<Object>(v.id());
+		for (int i = 0; i < edges; i++) {
+			v.addEdge(new CachedSignalEdge(i, sourceId), editor);
+		}
+	}
+
+	/**
+	 * Signals `v` with `FAN` and `w` with twice as many edges, the difference
+	 * is the cost per edge and the rest the cost per operation.
+	 */
+	@SuppressWarnings("rawtypes")
+	private void assertSignalWithinBudget(String name,
+			final com.signalcollect.AbstractVertex v,
+			final com.signalcollect.AbstractVertex w) {
+		double fan = bytesPerOperation(new Runnable() {
+			@SuppressWarnings("unchecked")
+			public void run() {
+				v.executeSignalOperation(editor);
+			}
+		}, 1);
+		double doubleFan = bytesPerOperation(new Runnable() {
+			@SuppressWarnings("unchecked")
+			public void run() {
+				w.executeSignalOperation(editor);
+			}
+		}, 1);
+		double perEdge = (doubleFan - fan) / FAN;
+		assertWithinBudget(name + ".executeSignalOperation per edge",
+				perEdge, SIGNAL_BUDGET);
+		assertWithinBudget(name + ".executeSignalOperation per operation",
+				fan - FAN * perEdge, SIGNAL_OPERATION_BUDGET);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private void deliverAll(com.signalcollect.AbstractVertex v) {
+		for (int i = 0; i < FAN; i++) {
+			v.deliverSignal(signals[i], sourceIds[i]);
+		}
+	}
+
+	/**
+	 * Runs `cycle` until it is compiled and returns the mean bytes the
+	 * calling thread allocated per operation afterwards.
+	 */
+	private double bytesPerOperation(Runnable cycle, int operationsPerCycle) {
+		for (int i = 0; i < WARMUP_CYCLES; i++) {
+			cycle.run();
+		}
+		long threadId = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < MEASURED_CYCLES; i++) {
+			cycle.run();
+		}
+		long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+		return allocated / ((double) MEASURED_CYCLES * operationsPerCycle);
+	}
+
+	private static void assertWithinBudget(String operation, double bytes,
+			double budget) {
+		assertTrue(
+				String.format(
+						"%s allocates %.1f bytes per operation, the budget is %.1f bytes.",
+						operation, bytes, budget), bytes <= budget);
+	}
+
+	/**
+	 * Graph editor that drops all signals and does not allocate besides the
+	 * proxy invocation.
+	 */
+	static class DiscardingEditor implements InvocationHandler {
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			Class<?> returnType = method.getReturnType();
+			if (returnType == boolean.class) {
+				return Boolean.FALSE;
+			} else if (returnType == int.class) {
+				return 0;
+			} else if (returnType == long.class) {
+				return 0l;
+			} else if (returnType == double.class) {
+				return 0.0;
+			} else {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Counts the collected signals, the states are cached `Integer` values.
+	 */
+	@SuppressWarnings("serial")
+	static class CountingDataGraphVertex extends
+			DataGraphVertex<Integer, Integer, Integer> {
+		CountingDataGraphVertex(Integer id) {
+			super(id, 0);
+		}
+
+		public Integer collect(Integer oldState,
+				Iterable<Integer> mostRecentSignals) {
+			int count = 0;
+			for (Integer signal : mostRecentSignals) {
+				count += signal == null ? 0 : 1;
+			}
+			return (oldState + count) & 127;
+		}
+	}
+
+	@SuppressWarnings("serial")
+	static class CountingDataFlowVertex extends
+			DataFlowVertex<Integer, Integer, Integer> {
+		CountingDataFlowVertex(Integer id) {
+			super(id, 0);
+		}
+
+		public Integer collect(Integer oldState,
+				Iterable<Integer> uncollectedSignals) {
+			int count = 0;
+			for (Integer signal : uncollectedSignals) {
+				count += signal == null ? 0 : 1;
+			}
+			return (oldState + count) & 127;
+		}
+
+		public Integer resetState() {
+			return 0;
+		}
+	}
+
+	/**
+	 * Signals the cached target id, so the signal function does not allocate,
+	 * and hands it with the pre-allocated source id to a `SignalSink` instead
+	 * of the graph editor, whose proxy allocates an argument array per call.
+	 */
+	@SuppressWarnings("serial")
+	static class CachedSignalEdge extends DefaultEdge<Object> {
+		private final Option<Object> sourceId;
+
+		CachedSignalEdge(Integer targetId, Option<Object> sourceId) {
+			super(targetId);
+			this.sourceId = sourceId;
+		}
+
+		@Override
+		public Object signal(Vertex<?, ?> sourceVertex) {
+			return targetId();
+		}
+
+		@Override
+		public void executeSignalOperation(Vertex<?, ?> sourceVertex,
+				GraphEditor<Object, Object> graphEditor) {
+			SignalSink.send(signal(sourceVertex), targetId(), sourceId);
+		}
+	}
+
+	/**
+	 * Keeps the last sent signal, so that sending it is not optimized away.
+	 */
+	static class SignalSink {
+		static Object signal;
+		static Object targetId;
+		static Option<Object> sourceId;
+
+		static void send(Object signal, Object targetId,
+				Option<Object> sourceId) {
+			SignalSink.signal = signal;
+			SignalSink.targetId = targetId;
+			SignalSink.sourceId = sourceId;
+		}
+	}
+
+}
@@ -19,7 +19,6 @@
 
 package com.signalcollect.javaapi.examples.gameoflife;
 
-import java.util.Map;
 import java.util.Random;
 
 import com.signalcollect.ExecutionInformation;
@@ -46,6 +45,8 @@ public class GameOfLife {
 	// synchronization steps.
 	private PixelMap image = new PixelMap("Game of Life Simulation");
 	private Graph g;
+	private SteppingSession session;
+	private byte[] data = new byte[ROWS * COLUMNS];
 
 	/**
 	 * Sets up the graph and generate all vertices and edges. Each vertex links
@@ -62,6 +63,7 @@ public class GameOfLife {
 		// initialize vertices
 		for (int i = 0; i < seed.length; i++) {
 			g.addVertex(new GameOfLifeCell(i, seed[i]));
+			data[i] = seed[i] ? (byte) 1 : (byte) 0;
 		}
 
 		// set up edges
@@ -71,25 +73,29 @@ public class GameOfLife {
 			}
 
 		}
+
+		// only the cells that changed during a step are passed to the
+		// listener, the image data is updated in place.
+		session = g.openSteppingSession(ExecutionConfiguration
+				.withExecutionMode(ExecutionMode.Synchronous()),
+				new StepListener() {
+					public void onStep(long step, StateChangeBatch changes) {
+						for (int i = 0; i < changes.size(); i++) {
+							if ((Boolean) changes.state(i)) {
+								data[changes.intId(i)] = (byte) 1;
+							} else {
+								data[changes.intId(i)] = (byte) 0;
+							}
+						}
+					}
+				});
 	}
 
 	public void executionStep(boolean showImage) {
 
-		ExecutionInformation stats = g.execute(ExecutionConfiguration
-				.withExecutionMode(ExecutionMode.Synchronous()).withStepsLimit(
-						1));
+		ExecutionInformation stats = session.step();
 		if (showImage) {
-			byte[] data = new byte[ROWS * COLUMNS];
-			Map<Integer, Boolean> idValueMap = g
-					.aggregate(new JavaIdStateAggregator<Integer, Boolean>());
-			for (int id : idValueMap.keySet()) {
-				if (idValueMap.get(id)) {
-					data[id] = (byte) 1;
-				} else {
-					data[id] = (byte) 0;
-				}
-			}
-			image.setData(data);
+			image.setData(data.clone());
 			while (image.isNotUpdated()) {
 				try {
 					Thread.sleep(300);
@@ -102,6 +108,7 @@ public class GameOfLife {
 	}
 
 	public void shutDown() {
+		session.close();
 		g.shutdown();
 	}
 
@@ -0,0 +1,46 @@
+package com.signalcollect.javaapi.examples.sssp;
+
+import com.signalcollect.ExecutionInformation;
+import com.signalcollect.Vertex;
+import com.signalcollect.javaapi.*;
+import com.signalcollect.javaapi.offheap.IntCodec;
+import com.signalcollect.javaapi.offheap.OffHeapStateStore;
+
+/**
+ * The SSSP example with the distances stored off-heap, all vertices share one
+ * store with 4 byte states and 4 byte signals.
+ */
+public class OffHeapSSSP {
+
+	public static void main(String[] args) {
+		OffHeapStateStore<Integer, Integer> store = new OffHeapStateStore<Integer, Integer>(
+				new IntCodec(), new IntCodec());
+		Graph graph = new GraphBuilder().build();
+		graph.addVertex(new OffHeapSSSPNode(1, 0, store));
+		graph.addVertex(new OffHeapSSSPNode(2, store));
+		graph.addVertex(new OffHeapSSSPNode(3, store));
+		graph.addVertex(new OffHeapSSSPNode(4, store));
+		graph.addVertex(new OffHeapSSSPNode(5, store));
+		graph.addVertex(new OffHeapSSSPNode(6, store));
+
+		graph.addEdge(1, new SSSPEdge(2));
+		graph.addEdge(2, new SSSPEdge(3));
+		graph.addEdge(3, new SSSPEdge(4));
+		graph.addEdge(1, new SSSPEdge(5));
+		graph.addEdge(4, new SSSPEdge(6));
+		graph.addEdge(5, new SSSPEdge(6));
+
+		ExecutionInformation stats = graph.execute();
+		System.out.println(stats);
+		System.out.println("Off-heap bytes: " + store.offHeapBytes());
+
+		// Print the state of every vertex in the graph.
+		graph.foreachVertex(new VertexCommand() {
+			public void f(Vertex<?, ?> v) {
+				System.out.println(v);
+			}
+		});
+		graph.shutdown();
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.signalcollect.javaapi.examples.sssp;
+
+import com.signalcollect.javaapi.offheap.OffHeapStateStore;
+import com.signalcollect.javaapi.offheap.OffHeapVertex;
+
+/**
+ * SSSP vertex that keeps its tentative distance and the shortest distance it
+ * received since its last collect off-heap, see `OffHeapStateStore`.
+ * 
+ * As with `SSSPNode`, Integer.MAX_VALUE represents infinite distances.
+ */
+@SuppressWarnings("serial")
+public class OffHeapSSSPNode extends OffHeapVertex<Integer, Integer, Integer> {
+
+	public OffHeapSSSPNode(int id, OffHeapStateStore<Integer, Integer> store) {
+		this(id, Integer.MAX_VALUE, store);
+	}
+
+	public OffHeapSSSPNode(int id, int initialDistance,
+			OffHeapStateStore<Integer, Integer> store) {
+		super(id, initialDistance, store);
+	}
+
+	/**
+	 * Only the shortest received distance is relevant.
+	 */
+	@Override
+	protected Integer combine(Integer pendingSignal, Integer signal) {
+		return Math.min(pendingSignal, signal);
+	}
+
+	@Override
+	public Integer collect(Integer oldState, Integer shortestSignal) {
+		return Math.min(oldState, shortestSignal);
+	}
+
+}
@@ -1,12 +1,15 @@
 package com.signalcollect.javaapi.examples.sssp;
 
+import java.util.List;
+
 import com.signalcollect.ExecutionInformation;
 import com.signalcollect.Vertex;
 import com.signalcollect.javaapi.*;
 
 /**
  * Single Source Shortest Path (SSSP) graph construction and asynchronous
- * execution.
+ * execution. Vertices are processed in order of their tentative distance,
+ * one distance bucket after the other.
  * 
  * @author Daniel Strebel
  * 
@@ -29,8 +32,10 @@ public class SSSP {
 		graph.addEdge(4, new SSSPEdge(6));
 		graph.addEdge(5, new SSSPEdge(6));
 
-		ExecutionInformation stats = graph.execute();
-		System.out.println(stats);
+		List<ExecutionInformation> bucketStats = graph.executeInPriorityOrder(1.0);
+		for (ExecutionInformation stats : bucketStats) {
+			System.out.println(stats);
+		}
 
 		// Print the state of every vertex in the graph.
 		graph.foreachVertex(new VertexCommand() {
@@ -38,6 +43,23 @@ public class SSSP {
 				System.out.println(v);
 			}
 		});
+
+		// Reuse the graph to compute the distances from vertex 2.
+		graph.resetStates(new VertexFunction<Object>() {
+			public Object f(Vertex<?, ?> v) {
+				if (v.id().equals(2)) {
+					return 0;
+				} else {
+					return Integer.MAX_VALUE;
+				}
+			}
+		});
+		graph.executeInPriorityOrder(1.0);
+		graph.foreachVertex(new VertexCommand() {
+			public void f(Vertex<?, ?> v) {
+				System.out.println(v);
+			}
+		});
 		graph.shutdown();
 
 	}
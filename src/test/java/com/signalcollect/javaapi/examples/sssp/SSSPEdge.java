@@ -13,7 +13,7 @@ import com.signalcollect.DefaultEdge;
 @SuppressWarnings("serial")
 public class SSSPEdge extends DefaultEdge<Object> {
 
-	SSSPEdge(Object targetId) {
+	public SSSPEdge(Object targetId) {
 		super(targetId);
 	}
 
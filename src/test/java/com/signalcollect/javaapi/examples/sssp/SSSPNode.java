@@ -45,4 +45,13 @@ public class SSSPNode extends DataGraphVertex<Integer, Integer, Integer> {
 		return minDistance;
 	}
 
+	/**
+	 * Vertices with a shorter tentative distance are signaled first when the
+	 * graph is executed in priority order.
+	 */
+	@Override
+	public double priority() {
+		return state();
+	}
+
 }
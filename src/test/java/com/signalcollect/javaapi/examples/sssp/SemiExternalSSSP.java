@@ -0,0 +1,50 @@
+package com.signalcollect.javaapi.examples.sssp;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.signalcollect.ExecutionInformation;
+import com.signalcollect.Vertex;
+import com.signalcollect.javaapi.*;
+import com.signalcollect.javaapi.semiexternal.EdgeShardWriter;
+import com.signalcollect.javaapi.semiexternal.ShardedEdgeStore;
+
+/**
+ * The SSSP example with the edges written to sorted shards on disk, only the
+ * vertices and their states are kept in memory.
+ */
+public class SemiExternalSSSP {
+
+	public static void main(String[] args) throws IOException {
+		File directory = new File(System.getProperty("java.io.tmpdir"),
+				"sssp-shards");
+		EdgeShardWriter writer = new EdgeShardWriter(directory, 4, 1000);
+		writer.addEdge(1, 2);
+		writer.addEdge(2, 3);
+		writer.addEdge(3, 4);
+		writer.addEdge(1, 5);
+		writer.addEdge(4, 6);
+		writer.addEdge(5, 6);
+		writer.close();
+
+		ShardedEdgeStore edges = new ShardedEdgeStore(directory);
+		Graph graph = new GraphBuilder().build();
+		for (int id = 0; id < edges.numberOfVertices(); id++) {
+			graph.addVertex(new SemiExternalSSSPNode(id, id == 1 ? 0
+					: Integer.MAX_VALUE, edges));
+		}
+
+		ExecutionInformation stats = graph.execute();
+		System.out.println(stats);
+
+		// Print the state of every vertex in the graph.
+		graph.foreachVertex(new VertexCommand() {
+			public void f(Vertex<?, ?> v) {
+				System.out.println(v);
+			}
+		});
+		graph.shutdown();
+		edges.close();
+	}
+
+}
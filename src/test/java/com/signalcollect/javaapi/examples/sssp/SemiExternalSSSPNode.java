@@ -0,0 +1,41 @@
+package com.signalcollect.javaapi.examples.sssp;
+
+import com.signalcollect.javaapi.semiexternal.SemiExternalVertex;
+import com.signalcollect.javaapi.semiexternal.ShardedEdgeStore;
+
+/**
+ * SSSP vertex with unit edge weights, whose outgoing edges are read from a
+ * `ShardedEdgeStore`.
+ * 
+ * As with `SSSPNode`, Integer.MAX_VALUE represents infinite distances.
+ */
+@SuppressWarnings("serial")
+public class SemiExternalSSSPNode extends SemiExternalVertex<Integer, Integer> {
+
+	public SemiExternalSSSPNode(int id, int initialDistance,
+			ShardedEdgeStore edges) {
+		super(id, initialDistance, edges);
+	}
+
+	@Override
+	protected Integer signal() {
+		if (state() != Integer.MAX_VALUE) {
+			return state() + 1;
+		} else {
+			return Integer.MAX_VALUE;
+		}
+	}
+
+	@Override
+	public Integer collect(Integer oldState,
+			Iterable<Integer> uncollectedSignals) {
+		int minDistance = oldState;
+		for (int signal : uncollectedSignals) {
+			if (signal < minDistance) {
+				minDistance = signal;
+			}
+		}
+		return minDistance;
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ *  @author Philip Stutz
+ *
+ *  Copyright 2012 University of Zurich
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.signalcollect.javaapi.generators;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.Test;
+
+/**
+ * Checks that the generated edges only depend on the seed and not on the
+ * number of partitions they are generated in.
+ */
+public class GraphGeneratorTest {
+
+	static final int PARTITIONS = 7;
+
+	@Test
+	public void rMatIsIndependentOfPartitions() throws InterruptedException {
+		assertIndependentOfPartitions(new RMatGenerator(10, 8, 42));
+	}
+
+	@Test
+	public void erdosRenyiIsIndependentOfPartitions()
+			throws InterruptedException {
+		assertIndependentOfPartitions(new ErdosRenyiGenerator(1000, 0.01,
+				true, 42));
+		assertIndependentOfPartitions(new ErdosRenyiGenerator(1000, 0.01,
+				false, 42));
+	}
+
+	@Test
+	public void barabasiAlbertIsIndependentOfPartitions()
+			throws InterruptedException {
+		assertIndependentOfPartitions(new BarabasiAlbertGenerator(1000, 3,
+				false, 42));
+	}
+
+	private void assertIndependentOfPartitions(GraphGenerator generator)
+			throws InterruptedException {
+		assertArrayEquals(edges(generator, 1), edges(generator, PARTITIONS));
+	}
+
+	/**
+	 * @return the sorted edges of all partitions, encoded as source id in the
+	 *         upper and target id in the lower 32 bits.
+	 */
+	private long[] edges(GraphGenerator generator, int partitions)
+			throws InterruptedException {
+		BlockingQueue<int[]> batches = new LinkedBlockingQueue<int[]>();
+		for (int partition = 0; partition < partitions; partition++) {
+			GraphGenerator.EdgeSink sink = new GraphGenerator.EdgeSink(
+					batches, 1000);
+			generator.generate(partition, partitions, sink);
+			sink.flush();
+		}
+		int count = 0;
+		for (int[] batch : batches) {
+			count += batch.length / 2;
+		}
+		long[] edges = new long[count];
+		int i = 0;
+		for (int[] batch : batches) {
+			for (int j = 0; j < batch.length; j += 2) {
+				edges[i++] = ((long) batch[j] << 32) | batch[j + 1];
+			}
+		}
+		Arrays.sort(edges);
+		return edges;
+	}
+
+}